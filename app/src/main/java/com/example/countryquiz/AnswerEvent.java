@@ -0,0 +1,111 @@
+package com.example.countryquiz;
+
+/**
+ * A single answer picked by the user, recorded for difficulty analysis.
+ */
+public final class AnswerEvent {
+    private final int questionIndex;
+    private final String country;
+    private final String continent;
+    private final int chosenOption;
+    private final String chosenContinent;
+    private final boolean correct;
+    private final long answerMillis;
+    private final long answeredAt;
+
+    /**
+     * Constructs an AnswerEvent.
+     *
+     * @param questionIndex   the position of the question in the quiz
+     * @param country         the country the question asked about
+     * @param continent       the country's continent, i.e. the correct answer
+     * @param chosenOption    the index of the option picked
+     * @param chosenContinent the continent of the option picked
+     * @param correct         whether the picked option was the correct one
+     * @param answerMillis    time from the question being shown to the pick
+     * @param answeredAt      when the pick happened, in epoch milliseconds
+     */
+    public AnswerEvent(int questionIndex, String country, String continent, int chosenOption,
+                       String chosenContinent, boolean correct, long answerMillis, long answeredAt) {
+        this.questionIndex = questionIndex;
+        this.country = country;
+        this.continent = continent;
+        this.chosenOption = chosenOption;
+        this.chosenContinent = chosenContinent;
+        this.correct = correct;
+        this.answerMillis = answerMillis;
+        this.answeredAt = answeredAt;
+    }
+
+    /**
+     * Returns the position of the question in the quiz.
+     *
+     * @return the question index
+     */
+    public int getQuestionIndex() {
+        return questionIndex;
+    }
+
+    /**
+     * Returns the country the question asked about.
+     *
+     * @return the country name
+     */
+    public String getCountry() {
+        return country;
+    }
+
+    /**
+     * Returns the country's continent, i.e. the correct answer.
+     *
+     * @return the continent name
+     */
+    public String getContinent() {
+        return continent;
+    }
+
+    /**
+     * Returns the index of the option picked.
+     *
+     * @return the chosen option index
+     */
+    public int getChosenOption() {
+        return chosenOption;
+    }
+
+    /**
+     * Returns the continent of the option picked.
+     *
+     * @return the chosen continent name
+     */
+    public String getChosenContinent() {
+        return chosenContinent;
+    }
+
+    /**
+     * Returns whether the picked option was correct.
+     *
+     * @return true if correct
+     */
+    public boolean isCorrect() {
+        return correct;
+    }
+
+    /**
+     * Returns the time from the question being shown to the pick.
+     *
+     * @return the time to answer, in milliseconds
+     */
+    public long getAnswerMillis() {
+        return answerMillis;
+    }
+
+    /**
+     * Returns when the pick happened.
+     *
+     * @return the epoch-millisecond timestamp
+     */
+    public long getAnsweredAt() {
+        return answeredAt;
+    }
+}
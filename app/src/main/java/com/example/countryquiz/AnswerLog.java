@@ -0,0 +1,213 @@
+package com.example.countryquiz;
+
+/*
+ * Android libraries for saving pending events across process death and indexing
+ * final picks by question.
+ * Java utilities for the in-memory buffer.
+ */
+import android.content.Context;
+import android.os.Bundle;
+import android.util.SparseArray;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Write-behind buffer for per-answer telemetry, which also keeps the final pick of
+ * each question for scoring.
+ * <p>
+ * Answers are collected in memory and written in batches, one transaction per batch,
+ * on the {@link TaskScheduler} writer thread: whenever {@link #FLUSH_THRESHOLD} events
+ * are pending, and whenever the owner calls {@link #flush()} (on pause and when the quiz
+ * finishes). A batch stays in memory until its write has committed, so events that are
+ * pending or still in flight are carried through process death with
+ * {@link #saveState(Bundle)} and {@link #restoreState(Bundle)}; storing a batch twice is
+ * harmless because {@link CountryQuizData#storeAnswers} skips answers already stored.
+ */
+public class AnswerLog {
+    static final int FLUSH_THRESHOLD = 20;
+
+    private static final String STATE_PENDING = "answerlog.pending";
+    private static final String STATE_FINAL = "answerlog.final";
+
+    // Keys inside the STATE_PENDING and STATE_FINAL bundles
+    private static final String EVENT_QUESTION = "question";
+    private static final String EVENT_COUNTRY = "country";
+    private static final String EVENT_CONTINENT = "continent";
+    private static final String EVENT_CHOSEN = "chosen";
+    private static final String EVENT_CHOSEN_CONTINENT = "chosenContinent";
+    private static final String EVENT_CORRECT = "correct";
+    private static final String EVENT_MILLIS = "millis";
+    private static final String EVENT_AT = "at";
+
+    private final CountryQuizData quizData;
+    private final long sessionId;
+    private List<AnswerEvent> pending = new ArrayList<>();
+    // Batches handed to the writer thread whose transaction has not committed yet
+    private final List<List<AnswerEvent>> inFlight = new ArrayList<>();
+    // The last pick of each question, by question index
+    private final SparseArray<AnswerEvent> finalAnswers = new SparseArray<>();
+
+    /**
+     * Constructs a log for one quiz session.
+     *
+     * @param context   any context, used to reach the database
+     * @param sessionId the id the events are stored under
+     */
+    public AnswerLog(Context context, long sessionId) {
+        this.quizData = new CountryQuizData(context);
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Buffers an answer, flushing once enough events are pending, and makes it the
+     * question's final pick.
+     *
+     * @param event the answer to record
+     */
+    public synchronized void record(AnswerEvent event) {
+        pending.add(event);
+        finalAnswers.put(event.getQuestionIndex(), event);
+        if (pending.size() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    /**
+     * Hands every pending event to the writer thread as one batch. The batch is kept
+     * for {@link #saveState(Bundle)} until its write has committed.
+     */
+    public synchronized void flush() {
+        if (pending.isEmpty()) return;
+        List<AnswerEvent> batch = pending;
+        pending = new ArrayList<>();
+        inFlight.add(batch);
+        TaskScheduler.getInstance().write(TaskScheduler.Priority.LOW, () -> {
+            quizData.open();
+            quizData.storeAnswers(sessionId, batch);
+            confirm(batch);
+            return null;
+        }, null, null);
+    }
+
+    /**
+     * Drops a batch whose write has committed. Called on the writer thread.
+     *
+     * @param batch the batch handed out by {@link #flush()}
+     */
+    private synchronized void confirm(List<AnswerEvent> batch) {
+        for (int i = 0; i < inFlight.size(); i++) {
+            if (inFlight.get(i) == batch) {
+                inFlight.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the last pick of every answered question, in question order. These are
+     * what the quiz is scored on, as opposed to the raw events, which include every
+     * change of answer.
+     *
+     * @return the final picks
+     */
+    public synchronized List<AnswerEvent> getFinalAnswers() {
+        List<AnswerEvent> answers = new ArrayList<>(finalAnswers.size());
+        for (int i = 0; i < finalAnswers.size(); i++) {
+            answers.add(finalAnswers.valueAt(i));
+        }
+        return answers;
+    }
+
+    /**
+     * Writes the events not yet committed, in flight first and then pending, and the
+     * final picks into a saved-state bundle.
+     *
+     * @param out the bundle to write to
+     */
+    public synchronized void saveState(Bundle out) {
+        List<AnswerEvent> unconfirmed = new ArrayList<>();
+        for (List<AnswerEvent> batch : inFlight) {
+            unconfirmed.addAll(batch);
+        }
+        unconfirmed.addAll(pending);
+        out.putBundle(STATE_PENDING, writeEvents(unconfirmed));
+        out.putBundle(STATE_FINAL, writeEvents(getFinalAnswers()));
+    }
+
+    /**
+     * Re-buffers events and final picks saved by {@link #saveState(Bundle)}.
+     *
+     * @param in the saved-state bundle, or null
+     */
+    public synchronized void restoreState(Bundle in) {
+        if (in == null) return;
+        pending.addAll(readEvents(in.getBundle(STATE_PENDING)));
+        for (AnswerEvent event : readEvents(in.getBundle(STATE_FINAL))) {
+            finalAnswers.put(event.getQuestionIndex(), event);
+        }
+    }
+
+    /**
+     * Packs events into a bundle as parallel arrays.
+     *
+     * @param events the events
+     * @return the bundle
+     */
+    private static Bundle writeEvents(List<AnswerEvent> events) {
+        int n = events.size();
+        int[] question = new int[n];
+        String[] country = new String[n];
+        String[] continent = new String[n];
+        int[] chosen = new int[n];
+        String[] chosenContinent = new String[n];
+        boolean[] correct = new boolean[n];
+        long[] millis = new long[n];
+        long[] at = new long[n];
+        for (int i = 0; i < n; i++) {
+            AnswerEvent event = events.get(i);
+            question[i] = event.getQuestionIndex();
+            country[i] = event.getCountry();
+            continent[i] = event.getContinent();
+            chosen[i] = event.getChosenOption();
+            chosenContinent[i] = event.getChosenContinent();
+            correct[i] = event.isCorrect();
+            millis[i] = event.getAnswerMillis();
+            at[i] = event.getAnsweredAt();
+        }
+        Bundle out = new Bundle();
+        out.putIntArray(EVENT_QUESTION, question);
+        out.putStringArray(EVENT_COUNTRY, country);
+        out.putStringArray(EVENT_CONTINENT, continent);
+        out.putIntArray(EVENT_CHOSEN, chosen);
+        out.putStringArray(EVENT_CHOSEN_CONTINENT, chosenContinent);
+        out.putBooleanArray(EVENT_CORRECT, correct);
+        out.putLongArray(EVENT_MILLIS, millis);
+        out.putLongArray(EVENT_AT, at);
+        return out;
+    }
+
+    /**
+     * Unpacks events written by {@link #writeEvents(List)}.
+     *
+     * @param in the bundle, or null
+     * @return the events; empty if there are none
+     */
+    private static List<AnswerEvent> readEvents(Bundle in) {
+        List<AnswerEvent> events = new ArrayList<>();
+        if (in == null || !in.containsKey(EVENT_QUESTION)) return events;
+        int[] question = in.getIntArray(EVENT_QUESTION);
+        String[] country = in.getStringArray(EVENT_COUNTRY);
+        String[] continent = in.getStringArray(EVENT_CONTINENT);
+        int[] chosen = in.getIntArray(EVENT_CHOSEN);
+        String[] chosenContinent = in.getStringArray(EVENT_CHOSEN_CONTINENT);
+        boolean[] correct = in.getBooleanArray(EVENT_CORRECT);
+        long[] millis = in.getLongArray(EVENT_MILLIS);
+        long[] at = in.getLongArray(EVENT_AT);
+        for (int i = 0; i < question.length; i++) {
+            events.add(new AnswerEvent(question[i], country[i], continent[i], chosen[i],
+                    chosenContinent[i], correct[i], millis[i], at[i]));
+        }
+        return events;
+    }
+}
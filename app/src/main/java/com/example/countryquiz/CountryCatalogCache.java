@@ -0,0 +1,125 @@
+package com.example.countryquiz;
+
+/*
+ * Android libraries for logging and context access.
+ * Java concurrency utilities for the lock-free copy-on-write reference.
+ */
+import android.content.Context;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Process-wide cache of the {@link CountryCatalog}.
+ * <p>
+ * The catalog is loaded once and then served from memory to every quiz. The current
+ * catalog sits behind a copy-on-write reference: readers never take a lock, and
+ * {@link #invalidate()} swaps in an empty state atomically so the next reader reloads.
+ */
+public final class CountryCatalogCache {
+    private static final String TAG = "CountryCatalogCache";
+
+    private static CountryCatalogCache instance;
+
+    private final Context context;
+    private final AtomicReference<State> state = new AtomicReference<>(new State(null, 0));
+    private final Object loadLock = new Object();
+
+    /**
+     * Immutable pair of the cached catalog (or null) and the generation it belongs to.
+     */
+    private static final class State {
+        final CountryCatalog catalog;
+        final int generation;
+
+        State(CountryCatalog catalog, int generation) {
+            this.catalog = catalog;
+            this.generation = generation;
+        }
+    }
+
+    /**
+     * Private constructor to enforce singleton pattern.
+     *
+     * @param context the application context
+     */
+    private CountryCatalogCache(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Gets the singleton instance of the catalog cache.
+     *
+     * @param context any context; only the application context is kept
+     * @return the CountryCatalogCache instance
+     */
+    public static synchronized CountryCatalogCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new CountryCatalogCache(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the cached catalog without loading it. Safe to call on the main thread.
+     *
+     * @return the catalog, or null if it has not been loaded yet
+     */
+    public CountryCatalog peek() {
+        return state.get().catalog;
+    }
+
+    /**
+     * Returns the catalog, loading it on first use. Only the first caller after an
+     * invalidation does I/O; must not be called on the main thread.
+     *
+     * @return the current catalog
+     */
+    public CountryCatalog get() {
+        CountryCatalog catalog = peek();
+        if (catalog != null) return catalog;
+
+        synchronized (loadLock) {
+            State seen = state.get();
+            if (seen.catalog != null) return seen.catalog;
+
+            CountryCatalog loaded = load();
+            // If the table changed while loading, return what was read but do not cache it
+            state.compareAndSet(seen, new State(loaded, seen.generation));
+            return loaded;
+        }
+    }
+
+    /**
+     * Drops the cached catalog so the next {@link #get()} reloads it.
+     * Readers still holding the old catalog keep a consistent, immutable copy.
+     */
+    public void invalidate() {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current, new State(null, current.generation + 1)));
+    }
+
+    /**
+     * Reads the countries from the prebuilt snapshot, falling back to the
+     * database filled by the CSV importer.
+     *
+     * @return a freshly loaded catalog
+     */
+    private CountryCatalog load() {
+        try (PerfTrace ignored = PerfTrace.begin("CountryCatalogCache.load")) {
+            CountryRepository repository;
+            try {
+                repository = SnapshotCountryRepository.open(context);
+            } catch (IOException e) {
+                Log.w(TAG, "Country snapshot unavailable, using database", e);
+                CountryQuizData quizData = new CountryQuizData(context);
+                quizData.open();
+                repository = quizData;
+            }
+            return repository.loadCatalog();
+        }
+    }
+}
@@ -2,20 +2,44 @@ package com.example.countryquiz;
 
 import android.content.ContentValues;
 import android.content.Context;
-import android.os.AsyncTask;
-import android.util.Log;
+import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
 
-import com.opencsv.CSVReader;
-
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
- * An AsyncTask that loads country data from a CSV file in the assets folder
- * and inserts it into the SQLite database.
+ * A background task that loads country data from a CSV file in the assets folder
+ * and keeps the SQLite database in sync with it. Runs on the
+ * {@link TaskScheduler} database writer thread.
+ * <p>
+ * The CSV is fingerprinted (size plus SHA-256) and the import is skipped when the
+ * fingerprint matches the one stored in the metadata table. Otherwise the CSV is
+ * streamed through {@link CountryCsvReader} and each row goes straight into the
+ * insert or update statement, so only the row-level difference is applied, inside a
+ * single transaction. Malformed and duplicate rows are logged with their line
+ * number and skipped.
+ * <p>
+ * The run is traced as {@code CountryLoaderTask.call}, and the row counts of each
+ * import are added to {@link Metrics} counters.
  */
-public class CountryLoaderTask extends AsyncTask<Void, Void, Void> {
+public class CountryLoaderTask implements Callable<Void> {
+    private static final String TAG = "CountryLoaderTask";
+    private static final String CSV_ASSET = "country_continent.csv";
+
+    // Metadata keys for the fingerprint of the last imported CSV
+    static final String KEY_CSV_SIZE = "country_csv_size";
+    static final String KEY_CSV_HASH = "country_csv_sha256";
+
     private final Context context;
 
     /**
@@ -28,40 +52,196 @@ public class CountryLoaderTask extends AsyncTask<Void, Void, Void> {
     }
 
     /**
-     * Reads country and continent data from the CSV file and inserts them into the database.
+     * Reads the CSV file, applies any changes to the countries table and
+     * invalidates the shared country catalog if anything changed.
      *
-     * @param voids no parameters used
      * @return null (no result needed)
      */
     @Override
-    protected Void doInBackground(Void... voids) {
-        try {
-            CountryQuizDBHelper dbHelper = CountryQuizDBHelper.getInstance(context);
-            InputStream inputStream = context.getAssets().open("country_continent.csv");
-            CSVReader reader = new CSVReader(new InputStreamReader(inputStream));
+    public Void call() {
+        try (PerfTrace ignored = PerfTrace.begin("CountryLoaderTask.call")) {
+            byte[] csv = readAsset();
+            String size = String.valueOf(csv.length);
+            String hash = sha256(csv);
+
+            SQLiteDatabase db = CountryQuizDBHelper.getInstance(context).getWritableDatabase();
+            if (!size.equals(readMetadata(db, KEY_CSV_SIZE)) || !hash.equals(readMetadata(db, KEY_CSV_HASH))) {
+                boolean changed;
+                db.beginTransaction();
+                try {
+                    changed = applyDiff(db, csv);
+                    writeMetadata(db, KEY_CSV_SIZE, size);
+                    writeMetadata(db, KEY_CSV_HASH, hash);
+                    db.setTransactionSuccessful();
+                } finally {
+                    db.endTransaction();
+                }
+
+                if (changed) CountryCatalogCache.getInstance(context).invalidate();
+            } else {
+                Metrics.getInstance().increment("CountryLoaderTask.unchanged", 1);
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error loading CSV", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Reads the whole CSV asset into memory so it can be hashed and parsed from one read.
+     *
+     * @return the raw bytes of the asset
+     * @throws IOException if the asset cannot be read
+     */
+    private byte[] readAsset() throws IOException {
+        try (InputStream in = context.getAssets().open(CSV_ASSET)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * Brings the countries table in line with the CSV using inserts, updates and
+     * deletes on reused compiled statements, binding each row as it is parsed.
+     * Must be called inside a transaction.
+     *
+     * @param db  the writable database
+     * @param csv the raw CSV bytes
+     * @return true if any row was inserted, updated or deleted
+     * @throws IOException if the CSV cannot be read
+     */
+    private static boolean applyDiff(SQLiteDatabase db, byte[] csv) throws IOException {
+        Map<String, Long> existingIds = new HashMap<>();
+        Map<String, String> existingContinents = new HashMap<>();
 
-            String[] row;
-            SQLiteDatabase db = dbHelper.getWritableDatabase();
+        SQLiteStatement insert = db.compileStatement("INSERT INTO " + QuizSchema.TABLE_COUNTRIES
+                + " (" + QuizSchema.COLUMN_NAME + ", " + QuizSchema.COLUMN_CONTINENT + ") VALUES (?, ?)");
+        SQLiteStatement update = db.compileStatement("UPDATE " + QuizSchema.TABLE_COUNTRIES
+                + " SET " + QuizSchema.COLUMN_CONTINENT + " = ? WHERE " + QuizSchema.COLUMN_ID + " = ?");
+        SQLiteStatement delete = db.compileStatement("DELETE FROM " + QuizSchema.TABLE_COUNTRIES
+                + " WHERE " + QuizSchema.COLUMN_ID + " = ?");
 
-            // Clear existing countries before inserting new ones
-            db.delete(CountryQuizDBHelper.TABLE_COUNTRIES, null, null);
+        int[] counts = new int[4]; // inserted, updated, deleted, skipped
+        try {
+            Cursor cursor = db.query(QuizSchema.TABLE_COUNTRIES,
+                    new String[]{QuizSchema.COLUMN_ID, QuizSchema.COLUMN_NAME, QuizSchema.COLUMN_CONTINENT},
+                    null, null, null, null, null);
+            try {
+                while (cursor.moveToNext()) {
+                    long id = cursor.getLong(0);
+                    String name = cursor.getString(1);
+                    if (existingIds.containsKey(name)) {
+                        // Left over from an older wipe-and-reinsert import
+                        delete.bindLong(1, id);
+                        delete.executeUpdateDelete();
+                        counts[2]++;
+                        continue;
+                    }
+                    existingIds.put(name, id);
+                    existingContinents.put(name, cursor.getString(2));
+                }
+            } finally {
+                cursor.close();
+            }
 
-            while ((row = reader.readNext()) != null) {
-                String name = row[0].trim();
-                String continent = row[1].trim();
+            CountryCsvReader.readDistinct(new ByteArrayInputStream(csv), new CountryCsvReader.Handler() {
+                @Override
+                public void onCountry(int line, String name, String continent) {
+                    Long id = existingIds.remove(name);
+                    if (id == null) {
+                        insert.bindString(1, name);
+                        insert.bindString(2, continent);
+                        insert.executeInsert();
+                        counts[0]++;
+                    } else if (!continent.equals(existingContinents.get(name))) {
+                        update.bindString(1, continent);
+                        update.bindLong(2, id);
+                        update.executeUpdateDelete();
+                        counts[1]++;
+                    }
+                }
 
-                ContentValues values = new ContentValues();
-                values.put(CountryQuizDBHelper.COLUMN_NAME, name);
-                values.put(CountryQuizDBHelper.COLUMN_CONTINENT, continent);
+                @Override
+                public void onBadRow(int line, String reason) {
+                    Log.w(TAG, CSV_ASSET + " line " + line + ": " + reason + ", skipped");
+                    counts[3]++;
+                }
+            });
 
-                db.insert(CountryQuizDBHelper.TABLE_COUNTRIES, null, values);
+            // Whatever is left in the table is no longer in the CSV
+            for (long id : existingIds.values()) {
+                delete.bindLong(1, id);
+                delete.executeUpdateDelete();
+                counts[2]++;
             }
 
-            reader.close();
-        } catch (Exception e) {
-            Log.e("CountryLoaderTask", "Error loading CSV", e);
+            Log.i(TAG, "Country import: " + counts[0] + " inserted, " + counts[1] + " updated, "
+                    + counts[2] + " deleted, " + counts[3] + " skipped");
+            Metrics metrics = Metrics.getInstance();
+            metrics.increment("CountryLoaderTask.inserted", counts[0]);
+            metrics.increment("CountryLoaderTask.updated", counts[1]);
+            metrics.increment("CountryLoaderTask.deleted", counts[2]);
+            metrics.increment("CountryLoaderTask.badRows", counts[3]);
+            return counts[0] + counts[1] + counts[2] > 0;
+        } finally {
+            insert.close();
+            update.close();
+            delete.close();
         }
+    }
 
-        return null;
+    /**
+     * Reads a value from the metadata table.
+     *
+     * @param db  the database
+     * @param key the metadata key
+     * @return the stored value, or null if none
+     */
+    private static String readMetadata(SQLiteDatabase db, String key) {
+        Cursor cursor = db.query(QuizSchema.TABLE_METADATA,
+                new String[]{QuizSchema.COLUMN_VALUE},
+                QuizSchema.COLUMN_KEY + " = ?", new String[]{key},
+                null, null, null);
+        try {
+            return cursor.moveToFirst() ? cursor.getString(0) : null;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Inserts or replaces a value in the metadata table.
+     *
+     * @param db    the database
+     * @param key   the metadata key
+     * @param value the value to store
+     */
+    private static void writeMetadata(SQLiteDatabase db, String key, String value) {
+        ContentValues values = new ContentValues();
+        values.put(QuizSchema.COLUMN_KEY, key);
+        values.put(QuizSchema.COLUMN_VALUE, value);
+        db.insertWithOnConflict(QuizSchema.TABLE_METADATA, null, values, SQLiteDatabase.CONFLICT_REPLACE);
+    }
+
+    /**
+     * Computes the hex-encoded SHA-256 digest of the given bytes.
+     *
+     * @param data the bytes to hash
+     * @return the lowercase hex digest
+     * @throws NoSuchAlgorithmException if SHA-256 is unavailable
+     */
+    private static String sha256(byte[] data) throws NoSuchAlgorithmException {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+        StringBuilder hex = new StringBuilder(digest.length * 2);
+        for (byte b : digest) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
     }
 }
@@ -7,27 +7,123 @@ import android.content.Context;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 
+import androidx.annotation.VisibleForTesting;
+
 /**
  * SQLiteOpenHelper class that manages database creation and versioning
  * for the Country Quiz app.
+ * <p>
+ * Fresh installs get the latest schema, as defined in {@link QuizSchema}, from
+ * {@link #onCreate}; existing databases are brought forward one version at a time
+ * by the {@link #MIGRATIONS} list, so quiz history survives every upgrade. The
+ * database runs in WAL mode so history writes do not block concurrent catalog and
+ * history reads.
  */
 public class CountryQuizDBHelper extends SQLiteOpenHelper {
 
     // Database configuration
     private static final String DB_NAME = "countryquiz.db";
-    private static final int DB_VERSION = 1;
+    private static final int DB_VERSION = 11;
 
-    // Table and column names for countries
-    public static final String TABLE_COUNTRIES = "countries";
-    public static final String COLUMN_ID = "_id";
-    public static final String COLUMN_NAME = "name";
-    public static final String COLUMN_CONTINENT = "continent";
+    // Page cache per connection, in KiB (negative values are sizes, not page counts)
+    private static final int CACHE_SIZE_KIB = 4096;
 
-    // Table and column names for quizzes
-    public static final String TABLE_QUIZZES = "quizzes";
-    public static final String COLUMN_QUIZ_ID = "_id";
-    public static final String COLUMN_QUIZ_DATE = "date";
-    public static final String COLUMN_SCORE = "score";
+    /**
+     * Every schema change since version 1, in order. Entry {@code i} upgrades
+     * version {@code i + 1} to {@code i + 2}; add new steps at the end and bump DB_VERSION.
+     */
+    static final DatabaseMigration[] MIGRATIONS = {
+            new DatabaseMigration(1) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    // Track the fingerprint of the imported CSV
+                    db.execSQL(QuizSchema.CREATE_METADATA);
+                }
+            },
+            new DatabaseMigration(2) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    // Store the question count with each result; older quizzes were all 6 long
+                    db.execSQL("ALTER TABLE " + QuizSchema.TABLE_QUIZZES + " ADD COLUMN "
+                            + QuizSchema.COLUMN_TOTAL + " INTEGER NOT NULL DEFAULT 6");
+                }
+            },
+            new DatabaseMigration(3) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    // Indexed epoch-millis timestamp, backfilled from the local-time
+                    // "yyyy-MM-dd HH:mm" text dates written by earlier versions
+                    db.execSQL("ALTER TABLE " + QuizSchema.TABLE_QUIZZES + " ADD COLUMN " + QuizSchema.COLUMN_TIMESTAMP + " INTEGER");
+                    db.execSQL("UPDATE " + QuizSchema.TABLE_QUIZZES + " SET " + QuizSchema.COLUMN_TIMESTAMP
+                            + " = CAST(strftime('%s', " + QuizSchema.COLUMN_QUIZ_DATE + ", 'utc') AS INTEGER) * 1000"
+                            + " WHERE " + QuizSchema.COLUMN_QUIZ_DATE + " IS NOT NULL");
+                    db.execSQL(QuizSchema.CREATE_QUIZZES_TIMESTAMP_INDEX);
+                }
+            },
+            new DatabaseMigration(4) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    db.execSQL(QuizSchema.CREATE_COUNTRIES_CONTINENT_INDEX);
+                }
+            },
+            new DatabaseMigration(5) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    // Per-answer telemetry, linked to results through the session id
+                    db.execSQL(QuizSchema.CREATE_ANSWERS);
+                    db.execSQL("ALTER TABLE " + QuizSchema.TABLE_QUIZZES + " ADD COLUMN " + QuizSchema.COLUMN_SESSION_ID + " INTEGER");
+                }
+            },
+            new DatabaseMigration(6) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    // Generation seed and option count, enough to replay a quiz; null for older results
+                    db.execSQL("ALTER TABLE " + QuizSchema.TABLE_QUIZZES + " ADD COLUMN " + QuizSchema.COLUMN_OPTION_COUNT + " INTEGER");
+                    db.execSQL("ALTER TABLE " + QuizSchema.TABLE_QUIZZES + " ADD COLUMN " + QuizSchema.COLUMN_SEED + " INTEGER");
+                }
+            },
+            new DatabaseMigration(7) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    // Difficulty statistics, seeded from the answers logged so far. Older
+                    // answers only kept the option slot, so confusions start empty
+                    db.execSQL(QuizSchema.CREATE_COUNTRY_STATS);
+                    db.execSQL(QuizSchema.CREATE_CONFUSION);
+                    db.execSQL("INSERT INTO " + QuizSchema.TABLE_COUNTRY_STATS + " SELECT "
+                            + QuizSchema.COLUMN_ANSWER_COUNTRY + ", COUNT(*), SUM(" + QuizSchema.COLUMN_CORRECT + " = 0)"
+                            + " FROM " + QuizSchema.TABLE_ANSWERS + " WHERE " + QuizSchema.COLUMN_ANSWER_COUNTRY + " IS NOT NULL"
+                            + " GROUP BY " + QuizSchema.COLUMN_ANSWER_COUNTRY);
+                }
+            },
+            new DatabaseMigration(8) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    // Spaced-repetition schedule; countries join it on their next answer
+                    db.execSQL(QuizSchema.CREATE_REVIEW_SCHEDULE);
+                    db.execSQL(QuizSchema.CREATE_REVIEW_DUE_INDEX);
+                }
+            },
+            new DatabaseMigration(9) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    // Question pack of each result; every earlier quiz asked for continents
+                    db.execSQL("ALTER TABLE " + QuizSchema.TABLE_QUIZZES + " ADD COLUMN " + QuizSchema.COLUMN_PACK
+                            + " TEXT NOT NULL DEFAULT '" + QuestionPack.CONTINENTS.getId() + "'");
+                }
+            },
+            new DatabaseMigration(10) {
+                @Override
+                public void migrate(SQLiteDatabase db) {
+                    // Unconfirmed answer batches are replayed after process death; keep
+                    // the first copy of any pick already stored twice, then enforce it
+                    db.execSQL("DELETE FROM " + QuizSchema.TABLE_ANSWERS + " WHERE " + QuizSchema.COLUMN_ANSWER_ID
+                            + " NOT IN (SELECT MIN(" + QuizSchema.COLUMN_ANSWER_ID + ") FROM " + QuizSchema.TABLE_ANSWERS
+                            + " GROUP BY " + QuizSchema.COLUMN_SESSION_ID + ", " + QuizSchema.COLUMN_QUESTION_INDEX
+                            + ", " + QuizSchema.COLUMN_ANSWERED_AT + ")");
+                    db.execSQL(QuizSchema.CREATE_ANSWERS_EVENT_INDEX);
+                }
+            },
+    };
 
     private static CountryQuizDBHelper instance;
 
@@ -37,7 +133,20 @@ public class CountryQuizDBHelper extends SQLiteOpenHelper {
      * @param context the application context
      */
     private CountryQuizDBHelper(Context context) {
-        super(context, DB_NAME, null, DB_VERSION);
+        this(context, DB_NAME);
+    }
+
+    /**
+     * Constructs a helper for a database file with the given name. Used directly by
+     * migration tests; the app always goes through {@link #getInstance(Context)}.
+     *
+     * @param context the application context
+     * @param name    the database file name
+     */
+    @VisibleForTesting
+    CountryQuizDBHelper(Context context, String name) {
+        super(context, name, null, DB_VERSION);
+        setWriteAheadLoggingEnabled(true);
     }
 
     /**
@@ -54,28 +163,31 @@ public class CountryQuizDBHelper extends SQLiteOpenHelper {
     }
 
     /**
-     * Creates the initial database schema: countries and quizzes tables.
+     * Tunes each connection before it is used: a larger page cache for catalog and history reads.
      *
      * @param db the SQLite database instance
      */
     @Override
-    public void onCreate(SQLiteDatabase db) {
-        String createCountries = "CREATE TABLE " + TABLE_COUNTRIES + " ("
-                + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
-                + COLUMN_NAME + " TEXT, "
-                + COLUMN_CONTINENT + " TEXT)";
-
-        String createQuizzes = "CREATE TABLE " + TABLE_QUIZZES + " ("
-                + COLUMN_QUIZ_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
-                + COLUMN_QUIZ_DATE + " TEXT, "
-                + COLUMN_SCORE + " INTEGER)";
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        db.execSQL("PRAGMA cache_size = -" + CACHE_SIZE_KIB);
+    }
 
-        db.execSQL(createCountries);
-        db.execSQL(createQuizzes);
+    /**
+     * Creates the latest schema from {@link QuizSchema}: countries, quizzes, metadata,
+     * answers, difficulty statistics and review schedule tables.
+     *
+     * @param db the SQLite database instance
+     */
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        for (String sql : QuizSchema.createStatements()) {
+            db.execSQL(sql);
+        }
     }
 
     /**
-     * Handles database upgrades by dropping existing tables and recreating them.
+     * Upgrades the database by running every migration between the two versions in order.
      *
      * @param db the SQLite database instance
      * @param oldVersion the previous database version
@@ -83,8 +195,12 @@ public class CountryQuizDBHelper extends SQLiteOpenHelper {
      */
     @Override
     public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_COUNTRIES);
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_QUIZZES);
-        onCreate(db);
+        for (int version = oldVersion; version < newVersion; version++) {
+            DatabaseMigration migration = MIGRATIONS[version - 1];
+            if (migration.getFromVersion() != version) {
+                throw new IllegalStateException("Migration list out of order at version " + version);
+            }
+            migration.migrate(db);
+        }
     }
-}
\ No newline at end of file
+}
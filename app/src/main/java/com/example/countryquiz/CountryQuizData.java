@@ -5,21 +5,26 @@ package com.example.countryquiz;
  * - Database access and queries
  * - Content value mapping
  * - Cursor navigation
- * - List management
+ * - List and map management
  */
 import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Provides methods for interacting with the quiz database,
- * including reading country data and storing quiz results.
+ * including reading country data and storing quiz results. The catalog read, the
+ * history page and the result and answer writes are traced with {@link PerfTrace}.
  */
-public class CountryQuizData {
+public class CountryQuizData implements CountryRepository {
     private SQLiteDatabase db;
     private CountryQuizDBHelper dbHelper;
 
@@ -40,62 +45,352 @@ public class CountryQuizData {
     }
 
     /**
-     * Closes the database connection if it is open.
+     * Releases this object's handle on the database. The connection itself is owned by
+     * {@link CountryQuizDBHelper} and stays open for the life of the process, so queued
+     * background writes are never cut off by an activity being destroyed.
      */
     public void close() {
-        if (db != null) db.close();
+        db = null;
     }
 
     /**
-     * Retrieves all countries from the database.
+     * Retrieves all countries from the database. The cursor returns a new String for
+     * every continent cell, so equal continents are folded into one shared instance.
      *
      * @return a list of Country objects
      */
+    @Override
     public List<Country> getAllCountries() {
-        List<Country> countries = new ArrayList<>();
-        Cursor cursor = db.query(CountryQuizDBHelper.TABLE_COUNTRIES,
-                null, null, null, null, null, null);
+        try (PerfTrace ignored = PerfTrace.begin("CountryQuizData.getAllCountries")) {
+            List<Country> countries = new ArrayList<>();
+            Map<String, String> continents = new HashMap<>();
+            Cursor cursor = db.query(QuizSchema.TABLE_COUNTRIES,
+                    new String[]{QuizSchema.COLUMN_NAME, QuizSchema.COLUMN_CONTINENT},
+                    null, null, null, null, null);
 
+            while (cursor.moveToNext()) {
+                String continent = cursor.getString(1);
+                String shared = continents.putIfAbsent(continent, continent);
+                countries.add(new Country(cursor.getString(0), shared != null ? shared : continent));
+            }
+
+            cursor.close();
+            return countries;
+        }
+    }
+
+    /**
+     * Stores a quiz result in the database and, in the same transaction, folds the
+     * final pick of each answered question into the per-country and
+     * per-continent-pair difficulty totals and the spaced-repetition schedule, so every
+     * question counts once however often its answer was changed.
+     *
+     * @param sessionId   the session the quiz's answers were recorded under
+     * @param timestamp   when the quiz was finished, in epoch milliseconds
+     * @param score       the score the user achieved
+     * @param total       the number of questions in the quiz
+     * @param optionCount the number of options per question
+     * @param seed        the seed the quiz was generated from, to replay it
+     * @param packId      the id of the {@link QuestionPack} the quiz asked from
+     * @param answers     the final pick of each answered question; empty for packs without statistics
+     */
+    public void storeQuizResult(long sessionId, long timestamp, int score, int total, int optionCount, long seed,
+                                String packId, List<AnswerEvent> answers) {
+        try (PerfTrace ignored = PerfTrace.begin("CountryQuizData.storeQuizResult")) {
+            ContentValues values = new ContentValues();
+            values.put(QuizSchema.COLUMN_SESSION_ID, sessionId);
+            values.put(QuizSchema.COLUMN_TIMESTAMP, timestamp);
+            values.put(QuizSchema.COLUMN_SCORE, score);
+            values.put(QuizSchema.COLUMN_TOTAL, total);
+            values.put(QuizSchema.COLUMN_OPTION_COUNT, optionCount);
+            values.put(QuizSchema.COLUMN_SEED, seed);
+            values.put(QuizSchema.COLUMN_PACK, packId);
+            db.beginTransaction();
+            try {
+                db.insert(QuizSchema.TABLE_QUIZZES, null, values);
+                foldAnswers(answers);
+                db.setTransactionSuccessful();
+            } finally {
+                db.endTransaction();
+            }
+        }
+    }
+
+    /**
+     * Stores a batch of raw pick events as telemetry, in one transaction through a
+     * single compiled statement. Every change of answer is a separate event; the
+     * difficulty totals and review schedule only take the final picks, in
+     * {@link #storeQuizResult}. Answers already stored (same session, question and
+     * time) are skipped, so a batch can safely be stored twice.
+     *
+     * @param sessionId the quiz session the answers belong to
+     * @param events    the answers to store
+     */
+    public void storeAnswers(long sessionId, List<AnswerEvent> events) {
+        try (PerfTrace ignored = PerfTrace.begin("CountryQuizData.storeAnswers")) {
+            writeAnswers(sessionId, events);
+        }
+        Metrics.getInstance().increment("CountryQuizData.answersStored", events.size());
+    }
+
+    private void writeAnswers(long sessionId, List<AnswerEvent> events) {
+        SQLiteStatement insert = db.compileStatement("INSERT OR IGNORE INTO " + QuizSchema.TABLE_ANSWERS + " ("
+                + QuizSchema.COLUMN_SESSION_ID + ", "
+                + QuizSchema.COLUMN_QUESTION_INDEX + ", "
+                + QuizSchema.COLUMN_ANSWER_COUNTRY + ", "
+                + QuizSchema.COLUMN_CHOSEN_OPTION + ", "
+                + QuizSchema.COLUMN_CORRECT + ", "
+                + QuizSchema.COLUMN_ANSWER_MS + ", "
+                + QuizSchema.COLUMN_ANSWERED_AT + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+        db.beginTransaction();
+        try {
+            for (AnswerEvent event : events) {
+                insert.bindLong(1, sessionId);
+                insert.bindLong(2, event.getQuestionIndex());
+                insert.bindString(3, event.getCountry());
+                insert.bindLong(4, event.getChosenOption());
+                insert.bindLong(5, event.isCorrect() ? 1 : 0);
+                insert.bindLong(6, event.getAnswerMillis());
+                insert.bindLong(7, event.getAnsweredAt());
+                // Ignored if a batch replayed from saved state already stored it
+                insert.executeInsert();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+            insert.close();
+        }
+    }
+
+    /**
+     * Adds final picks to the difficulty totals and gives each question's country
+     * exactly one spaced-repetition review, graded from its final pick. Must run inside
+     * a transaction.
+     *
+     * @param answers the final pick of each answered question
+     */
+    private void foldAnswers(List<AnswerEvent> answers) {
+        // No UPSERT before SQLite 3.24, so insert an empty row first and then add to it
+        SQLiteStatement insertStats = db.compileStatement("INSERT OR IGNORE INTO "
+                + QuizSchema.TABLE_COUNTRY_STATS + " (" + QuizSchema.COLUMN_STATS_COUNTRY + ") VALUES (?)");
+        SQLiteStatement updateStats = db.compileStatement("UPDATE " + QuizSchema.TABLE_COUNTRY_STATS
+                + " SET " + QuizSchema.COLUMN_ATTEMPTS + " = " + QuizSchema.COLUMN_ATTEMPTS + " + 1, "
+                + QuizSchema.COLUMN_ERRORS + " = " + QuizSchema.COLUMN_ERRORS + " + ?"
+                + " WHERE " + QuizSchema.COLUMN_STATS_COUNTRY + " = ?");
+        SQLiteStatement insertConfusion = db.compileStatement("INSERT OR IGNORE INTO "
+                + QuizSchema.TABLE_CONFUSION + " (" + QuizSchema.COLUMN_CORRECT_CONTINENT + ", "
+                + QuizSchema.COLUMN_CHOSEN_CONTINENT + ") VALUES (?, ?)");
+        SQLiteStatement updateConfusion = db.compileStatement("UPDATE " + QuizSchema.TABLE_CONFUSION
+                + " SET " + QuizSchema.COLUMN_CONFUSION_COUNT + " = " + QuizSchema.COLUMN_CONFUSION_COUNT + " + 1"
+                + " WHERE " + QuizSchema.COLUMN_CORRECT_CONTINENT + " = ?"
+                + " AND " + QuizSchema.COLUMN_CHOSEN_CONTINENT + " = ?");
+        SQLiteStatement storeSchedule = db.compileStatement("INSERT OR REPLACE INTO "
+                + QuizSchema.TABLE_REVIEW_SCHEDULE + " ("
+                + QuizSchema.COLUMN_REVIEW_COUNTRY + ", "
+                + QuizSchema.COLUMN_EASE + ", "
+                + QuizSchema.COLUMN_INTERVAL_DAYS + ", "
+                + QuizSchema.COLUMN_REPETITIONS + ", "
+                + QuizSchema.COLUMN_DUE + ") VALUES (?, ?, ?, ?, ?)");
+        try {
+            for (AnswerEvent answer : answers) {
+                insertStats.bindString(1, answer.getCountry());
+                insertStats.executeInsert();
+                updateStats.bindLong(1, answer.isCorrect() ? 0 : 1);
+                updateStats.bindString(2, answer.getCountry());
+                updateStats.executeUpdateDelete();
+
+                if (!answer.isCorrect()) {
+                    insertConfusion.bindString(1, answer.getContinent());
+                    insertConfusion.bindString(2, answer.getChosenContinent());
+                    insertConfusion.executeInsert();
+                    updateConfusion.bindString(1, answer.getContinent());
+                    updateConfusion.bindString(2, answer.getChosenContinent());
+                    updateConfusion.executeUpdateDelete();
+                }
+
+                ReviewSchedule schedule = getReviewSchedule(answer.getCountry()).review(
+                        ReviewSchedule.grade(answer.isCorrect(), answer.getAnswerMillis()), answer.getAnsweredAt());
+                storeSchedule.bindString(1, answer.getCountry());
+                storeSchedule.bindDouble(2, schedule.getEase());
+                storeSchedule.bindLong(3, schedule.getIntervalDays());
+                storeSchedule.bindLong(4, schedule.getRepetitions());
+                storeSchedule.bindLong(5, schedule.getDue());
+                storeSchedule.executeInsert();
+            }
+        } finally {
+            insertStats.close();
+            updateStats.close();
+            insertConfusion.close();
+            updateConfusion.close();
+            storeSchedule.close();
+        }
+    }
+
+    /**
+     * Looks up a country's spaced-repetition state by its primary key.
+     *
+     * @param country the country name
+     * @return the stored schedule, or {@link ReviewSchedule#initial()} if it was never reviewed
+     */
+    public ReviewSchedule getReviewSchedule(String country) {
+        Cursor cursor = db.rawQuery("SELECT " + QuizSchema.COLUMN_EASE + ", "
+                + QuizSchema.COLUMN_INTERVAL_DAYS + ", "
+                + QuizSchema.COLUMN_REPETITIONS + ", "
+                + QuizSchema.COLUMN_DUE
+                + " FROM " + QuizSchema.TABLE_REVIEW_SCHEDULE
+                + " WHERE " + QuizSchema.COLUMN_REVIEW_COUNTRY + " = ?", new String[]{country});
+        try {
+            if (!cursor.moveToFirst()) return ReviewSchedule.initial();
+            return new ReviewSchedule(cursor.getDouble(0), cursor.getInt(1), cursor.getInt(2), cursor.getLong(3));
+        } finally {
+            cursor.close();
+        }
+    }
+
+    /**
+     * Returns the countries due for review, most overdue first, with one range scan of
+     * the due index. Countries the catalog no longer has are skipped.
+     *
+     * @param catalog the catalog to map the names to
+     * @param now     the current time, in epoch milliseconds
+     * @param limit   the maximum number of countries
+     * @return catalog positions of up to {@code limit} due countries
+     */
+    public int[] getDueCountries(CountryCatalog catalog, long now, int limit) {
+        Cursor cursor = db.rawQuery("SELECT " + QuizSchema.COLUMN_REVIEW_COUNTRY
+                + " FROM " + QuizSchema.TABLE_REVIEW_SCHEDULE
+                + " WHERE " + QuizSchema.COLUMN_DUE + " <= ?"
+                + " ORDER BY " + QuizSchema.COLUMN_DUE
+                + " LIMIT " + limit, new String[]{String.valueOf(now)});
+        int[] due = new int[cursor.getCount()];
+        int n = 0;
+        while (cursor.moveToNext()) {
+            int index = catalog.indexOf(cursor.getString(0));
+            if (index >= 0) due[n++] = index;
+        }
+        cursor.close();
+        return n == due.length ? due : Arrays.copyOf(due, n);
+    }
+
+    /**
+     * Loads the stored difficulty totals into a fresh model for the given catalog.
+     * Rows for countries or continents the catalog no longer has are skipped.
+     *
+     * @param catalog the catalog the model is for
+     * @return the model, holding every stored total that matches the catalog
+     */
+    public DifficultyModel loadDifficultyModel(CountryCatalog catalog) {
+        DifficultyModel model = new DifficultyModel(catalog);
+        ContinentIndex continents = catalog.getContinentIndex();
+        Map<String, Integer> continentIds = new HashMap<>();
+        for (int c = 0; c < continents.getContinentCount(); c++) {
+            continentIds.put(continents.getContinent(c), c);
+        }
+
+        Cursor cursor = db.rawQuery("SELECT " + QuizSchema.COLUMN_STATS_COUNTRY + ", "
+                + QuizSchema.COLUMN_ATTEMPTS + ", " + QuizSchema.COLUMN_ERRORS
+                + " FROM " + QuizSchema.TABLE_COUNTRY_STATS, null);
         while (cursor.moveToNext()) {
-            String name = cursor.getString(cursor.getColumnIndexOrThrow(CountryQuizDBHelper.COLUMN_NAME));
-            String continent = cursor.getString(cursor.getColumnIndexOrThrow(CountryQuizDBHelper.COLUMN_CONTINENT));
-            countries.add(new Country(name, continent));
+            int index = catalog.indexOf(cursor.getString(0));
+            if (index >= 0) model.setCountryStats(index, cursor.getInt(1), cursor.getInt(2));
         }
+        cursor.close();
 
+        cursor = db.rawQuery("SELECT " + QuizSchema.COLUMN_CORRECT_CONTINENT + ", "
+                + QuizSchema.COLUMN_CHOSEN_CONTINENT + ", " + QuizSchema.COLUMN_CONFUSION_COUNT
+                + " FROM " + QuizSchema.TABLE_CONFUSION, null);
+        while (cursor.moveToNext()) {
+            Integer correct = continentIds.get(cursor.getString(0));
+            Integer chosen = continentIds.get(cursor.getString(1));
+            if (correct != null && chosen != null && !correct.equals(chosen)) {
+                model.setConfusion(correct, chosen, cursor.getInt(2));
+            }
+        }
         cursor.close();
-        return countries;
+        return model;
     }
 
     /**
-     * Stores a quiz result in the database.
+     * Retrieves one page of past quiz results, newest first, using keyset pagination on
+     * the indexed (timestamp, id) pair. Pass {@link Long#MAX_VALUE} for both keys to get
+     * the first page, then the timestamp and id of the last result of each page.
      *
-     * @param date  the date of the quiz attempt
-     * @param score the score the user achieved
+     * @param beforeTimestamp only return results older than this key
+     * @param beforeId        tie-breaker for results sharing {@code beforeTimestamp}
+     * @param limit           the maximum number of results
+     * @return up to {@code limit} results
      */
-    public void storeQuizResult(String date, int score) {
-        ContentValues values = new ContentValues();
-        values.put(CountryQuizDBHelper.COLUMN_QUIZ_DATE, date);
-        values.put(CountryQuizDBHelper.COLUMN_SCORE, score);
-        db.insert(CountryQuizDBHelper.TABLE_QUIZZES, null, values);
+    public List<QuizResult> getQuizResultsPage(long beforeTimestamp, long beforeId, int limit) {
+        try (PerfTrace ignored = PerfTrace.begin("CountryQuizData.getQuizResultsPage")) {
+            List<QuizResult> results = new ArrayList<>(limit);
+            Cursor cursor = db.rawQuery("SELECT " + QuizSchema.COLUMN_QUIZ_ID + ", "
+                            + QuizSchema.COLUMN_TIMESTAMP + ", "
+                            + QuizSchema.COLUMN_SCORE + ", "
+                            + QuizSchema.COLUMN_TOTAL
+                            + " FROM " + QuizSchema.TABLE_QUIZZES
+                            + " WHERE " + QuizSchema.COLUMN_TIMESTAMP + " < ?1"
+                            + " OR (" + QuizSchema.COLUMN_TIMESTAMP + " = ?1 AND "
+                            + QuizSchema.COLUMN_QUIZ_ID + " < ?2)"
+                            + " ORDER BY " + QuizSchema.COLUMN_TIMESTAMP + " DESC, "
+                            + QuizSchema.COLUMN_QUIZ_ID + " DESC LIMIT " + limit,
+                    new String[]{String.valueOf(beforeTimestamp), String.valueOf(beforeId)});
+
+            while (cursor.moveToNext()) {
+                results.add(new QuizResult(cursor.getLong(0), cursor.getLong(1), cursor.getInt(2), cursor.getInt(3)));
+            }
+
+            cursor.close();
+            return results;
+        }
     }
 
     /**
-     * Retrieves all past quiz results from the database, ordered by date descending.
+     * Computes history statistics in SQL without loading the history rows: count, best
+     * and average percentage, and day streaks from the distinct days played.
      *
-     * @return a list of formatted quiz results
+     * @param now the current time, in epoch milliseconds
+     * @return the aggregated statistics
      */
-    public List<String> getPastQuizResults() {
-        List<String> results = new ArrayList<>();
-        Cursor cursor = db.query(CountryQuizDBHelper.TABLE_QUIZZES,
-                null, null, null, null, null, CountryQuizDBHelper.COLUMN_QUIZ_DATE + " DESC");
+    public QuizStats getQuizStats(long now) {
+        String percent = "100.0 * " + QuizSchema.COLUMN_SCORE + " / " + QuizSchema.COLUMN_TOTAL;
+        Cursor cursor = db.rawQuery("SELECT COUNT(*), MAX(" + percent + "), AVG(" + percent + ")"
+                + " FROM " + QuizSchema.TABLE_QUIZZES, null);
+        cursor.moveToFirst();
+        int count = cursor.getInt(0);
+        double best = cursor.getDouble(1);
+        double average = cursor.getDouble(2);
+        cursor.close();
 
-        while (cursor.moveToNext()) {
-            String date = cursor.getString(cursor.getColumnIndexOrThrow(CountryQuizDBHelper.COLUMN_QUIZ_DATE));
-            int score = cursor.getInt(cursor.getColumnIndexOrThrow(CountryQuizDBHelper.COLUMN_SCORE));
-            results.add(date + " - Score: " + score + "/6");
+        // Group by local calendar day; one row per day played, read from the timestamp index
+        String day = localDay(QuizSchema.COLUMN_TIMESTAMP);
+        cursor = db.rawQuery("SELECT DISTINCT " + day + " AS day FROM " + QuizSchema.TABLE_QUIZZES
+                + " WHERE " + QuizSchema.COLUMN_TIMESTAMP + " IS NOT NULL"
+                + " ORDER BY day DESC", null);
+        long[] days = new long[cursor.getCount()];
+        for (int i = 0; cursor.moveToNext(); i++) {
+            days[i] = cursor.getLong(0);
         }
+        cursor.close();
 
+        // Today by the same rule, so it cannot disagree with the rows about the offset
+        cursor = db.rawQuery("SELECT " + localDay(Long.toString(now)), null);
+        cursor.moveToFirst();
+        long today = cursor.getLong(0);
         cursor.close();
-        return results;
+
+        int[] streaks = QuizStats.streaks(days, today);
+        return new QuizStats(count, best, average, streaks[0], streaks[1]);
+    }
+
+    /**
+     * Returns SQL for the local calendar day of an epoch-millisecond expression, as days
+     * since 1970-01-01. The 'localtime' modifier applies the UTC offset in force at each
+     * value, so rows from either side of a daylight saving change land on the right day.
+     *
+     * @param millis the SQL expression in epoch milliseconds
+     * @return the day number expression
+     */
+    private static String localDay(String millis) {
+        return "CAST(strftime('%s', " + millis + " / 1000, 'unixepoch', 'localtime') AS INTEGER) / 86400";
     }
-}
\ No newline at end of file
+}
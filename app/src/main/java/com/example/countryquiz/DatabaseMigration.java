@@ -0,0 +1,50 @@
+package com.example.countryquiz;
+
+/*
+ * Android library for SQLite database access.
+ */
+import android.database.sqlite.SQLiteDatabase;
+
+/**
+ * One step of the schema history, upgrading the database from
+ * {@link #getFromVersion()} to the next version. Migrations run inside the
+ * transaction opened by SQLiteOpenHelper, so a failing step leaves the
+ * database at its previous version.
+ */
+public abstract class DatabaseMigration {
+    private final int fromVersion;
+
+    /**
+     * Constructs a migration that upgrades from the given version to the next one.
+     *
+     * @param fromVersion the schema version this migration starts from
+     */
+    protected DatabaseMigration(int fromVersion) {
+        this.fromVersion = fromVersion;
+    }
+
+    /**
+     * Returns the schema version this migration starts from.
+     *
+     * @return the starting version
+     */
+    public int getFromVersion() {
+        return fromVersion;
+    }
+
+    /**
+     * Returns the schema version after this migration.
+     *
+     * @return the resulting version
+     */
+    public int getToVersion() {
+        return fromVersion + 1;
+    }
+
+    /**
+     * Applies the schema change.
+     *
+     * @param db the database being upgraded
+     */
+    public abstract void migrate(SQLiteDatabase db);
+}
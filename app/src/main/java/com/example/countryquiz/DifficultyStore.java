@@ -0,0 +1,77 @@
+package com.example.countryquiz;
+
+/*
+ * Android library for context access.
+ */
+import android.content.Context;
+
+/**
+ * Process-wide holder of the {@link DifficultyModel} for the current catalog.
+ * <p>
+ * The model is loaded from the database once per catalog and then kept up to date in
+ * memory as quizzes are scored, with the final pick of each question;
+ * {@link CountryQuizData#storeQuizResult} writes the same picks to the stored totals, so
+ * a reload after the process restarts sees them too.
+ */
+public final class DifficultyStore {
+    private static DifficultyStore instance;
+
+    private final Context context;
+    private volatile DifficultyModel model;
+
+    /**
+     * Private constructor to enforce singleton pattern.
+     *
+     * @param context the application context
+     */
+    private DifficultyStore(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Gets the singleton instance of the store.
+     *
+     * @param context any context; only the application context is kept
+     * @return the DifficultyStore instance
+     */
+    public static synchronized DifficultyStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new DifficultyStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the model for the given catalog, loading it from the database if the
+     * cached one belongs to another catalog. Must not be called on the main thread.
+     *
+     * @param catalog the catalog quizzes are generated from
+     * @return the model for that catalog
+     */
+    public synchronized DifficultyModel get(CountryCatalog catalog) {
+        DifficultyModel current = model;
+        if (current != null && current.getCatalog() == catalog) return current;
+
+        CountryQuizData quizData = new CountryQuizData(context);
+        quizData.open();
+        current = quizData.loadDifficultyModel(catalog);
+        model = current;
+        return current;
+    }
+
+    /**
+     * Folds a question's final pick into the in-memory model, if one is loaded for the
+     * catalog the question came from. Call once per question when the quiz is scored.
+     * Cheap enough for the main thread.
+     *
+     * @param question the question answered
+     * @param choice   the picked option index
+     */
+    public void recordAnswer(Question question, int choice) {
+        DifficultyModel current = model;
+        if (current == null) return;
+        if (question.getCatalog() == current.getCatalog()) {
+            current.recordAnswer(question.getCountryIndex(), question.getOptionIds()[choice]);
+        }
+    }
+}
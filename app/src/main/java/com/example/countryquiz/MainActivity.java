@@ -3,21 +3,41 @@ package com.example.countryquiz;
 /*
  * Android and Jetpack libraries for UI components, button interactions,
  * and activity navigation.
+ * Java I/O and charset libraries for writing the debug metrics dump.
+ * Java utility libraries for the pack picker labels.
  */
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
+import android.util.Log;
 import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
 import android.widget.Button;
+import android.widget.Spinner;
+import android.widget.TextView;
+import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Main activity that serves as the splash screen.
- * Allows the user to start a new quiz or view past quiz results.
+ * Allows the user to pick a question pack and start a new quiz, review the
+ * countries due for spaced repetition, or view past quiz results.
  */
 public class MainActivity extends AppCompatActivity {
+    private static final String TAG = "MainActivity";
 
-    Button startQuizButton, viewResultsButton;
+    TextView quizInfo;
+    Spinner packSpinner;
+    Button startQuizButton, reviewButton, viewResultsButton;
 
     /**
      * Initializes the splash screen, loads the country data from CSV,
@@ -27,23 +47,93 @@ public class MainActivity extends AppCompatActivity {
      */
     @Override
     protected void onCreate(Bundle savedInstanceState) {
-        super.onCreate(savedInstanceState);
-        setContentView(R.layout.activity_main);
+        try (PerfTrace ignored = PerfTrace.begin("MainActivity.onCreate")) {
+            super.onCreate(savedInstanceState);
+            setContentView(R.layout.activity_main);
+
+            // Sync the CSV into the database on the writer thread, and warm the shared
+            // catalog and the first quizzes on a reader thread so starting a quiz does
+            // not wait behind the import
+            TaskScheduler.getInstance().write(TaskScheduler.Priority.NORMAL, new CountryLoaderTask(this), null, null);
+            QuizPrefetcher.getInstance(this).refill(QuizConfig.DEFAULT);
+
+            quizInfo = findViewById(R.id.quizInfo);
+            showPackInfo(QuestionPack.CONTINENTS);
+            if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+                quizInfo.setOnLongClickListener(v -> {
+                    dumpMetrics();
+                    return true;
+                });
+            }
+
+            // The picker lists QuestionPack.all() in order, so positions map back to packs
+            packSpinner = findViewById(R.id.packSpinner);
+            List<String> labels = new ArrayList<>();
+            for (QuestionPack pack : QuestionPack.all()) {
+                labels.add(getString(QuestionPackStrings.label(pack)));
+            }
+            ArrayAdapter<String> packs = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, labels);
+            packs.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+            packSpinner.setAdapter(packs);
+            packSpinner.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+                @Override
+                public void onItemSelected(AdapterView<?> parent, View view, int position, long id) {
+                    showPackInfo(QuestionPack.all().get(position));
+                }
+
+                @Override
+                public void onNothingSelected(AdapterView<?> parent) {
+                }
+            });
+
+            startQuizButton = findViewById(R.id.startQuizButton);
+            reviewButton = findViewById(R.id.reviewButton);
+            viewResultsButton = findViewById(R.id.viewResultsButton);
+
+            // Packs other than continents are only read once a quiz asks for them
+            startQuizButton.setOnClickListener(v -> {
+                int cookie = PerfTrace.beginAsync(QuizActivity.FIRST_QUESTION_SECTION);
+                QuestionPack pack = QuestionPack.all().get(packSpinner.getSelectedItemPosition());
+                Intent intent = QuizActivity.newIntent(MainActivity.this, QuizConfig.DEFAULT, pack)
+                        .putExtra(QuizActivity.EXTRA_TRACE_COOKIE, cookie);
+                startActivity(intent);
+            });
 
-        // Start CSV Loader
-        new CountryLoaderTask(this).execute();
+            reviewButton.setOnClickListener(v -> {
+                Intent intent = QuizActivity.newReviewIntent(MainActivity.this, QuizConfig.DEFAULT);
+                startActivity(intent);
+            });
 
-        startQuizButton = findViewById(R.id.startQuizButton);
-        viewResultsButton = findViewById(R.id.viewResultsButton);
+            viewResultsButton.setOnClickListener(v -> {
+                Intent intent = new Intent(MainActivity.this, ResultsActivity.class);
+                startActivity(intent);
+            });
+        }
+    }
 
-        startQuizButton.setOnClickListener(v -> {
-            Intent intent = new Intent(MainActivity.this, QuizActivity.class);
-            startActivity(intent);
-        });
+    /**
+     * Describes the quiz of the given pack in the welcome text.
+     *
+     * @param pack the selected pack
+     */
+    private void showPackInfo(QuestionPack pack) {
+        quizInfo.setText(getString(QuestionPackStrings.info(pack),
+                QuizConfig.DEFAULT.getQuestionCount(), QuizConfig.DEFAULT.getOptionCount()));
+    }
 
-        viewResultsButton.setOnClickListener(v -> {
-            Intent intent = new Intent(MainActivity.this, ResultsActivity.class);
-            startActivity(intent);
-        });
+    /**
+     * Debug builds only: logs the {@link Metrics} dump and writes it to
+     * {@code files/metrics.json}, where {@code adb shell run-as} can pull it.
+     */
+    private void dumpMetrics() {
+        String json = Metrics.getInstance().toJson();
+        Log.i(TAG, "Metrics: " + json);
+        File file = new File(getFilesDir(), "metrics.json");
+        TaskScheduler.getInstance().read(TaskScheduler.Priority.LOW, () -> {
+            try (OutputStream out = new FileOutputStream(file)) {
+                out.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+            return file.getPath();
+        }, this, path -> Toast.makeText(this, "Metrics written to " + path, Toast.LENGTH_SHORT).show());
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.example.countryquiz;
+
+/*
+ * Android libraries for systrace / Perfetto sections and the API level check.
+ * Java atomics for the async section cookies.
+ */
+import android.os.Build;
+import android.os.Trace;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One timed section of a hot path: an {@link android.os.Trace} section, so it shows up
+ * in system traces and macrobenchmarks, plus a sample in the {@link Metrics} latency
+ * histogram of the same name. Use with try-with-resources on the thread that opened it:
+ * <pre>
+ * try (PerfTrace ignored = PerfTrace.begin("CountryQuizData.storeAnswers")) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class PerfTrace implements AutoCloseable {
+    private static final AtomicInteger NEXT_COOKIE = new AtomicInteger(1);
+
+    private final String name;
+    private final long startNanos;
+
+    private PerfTrace(String name) {
+        this.name = name;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Opens a section.
+     *
+     * @param name the section and histogram name, at most 127 characters
+     * @return the open section, to be closed on the same thread
+     */
+    public static PerfTrace begin(String name) {
+        Trace.beginSection(name);
+        return new PerfTrace(name);
+    }
+
+    /**
+     * Closes the section and records its duration.
+     */
+    @Override
+    public void close() {
+        Trace.endSection();
+        Metrics.getInstance().recordSince(name, startNanos);
+    }
+
+    /**
+     * Opens an async section, which may end on another thread or in another activity.
+     * Each call gets its own cookie, so sections of the same name never pair up with
+     * each other. A no-op below API 29, and not recorded in {@link Metrics}.
+     *
+     * @param name the section name
+     * @return the cookie to pass to {@link #endAsync(String, int)}, never 0
+     */
+    public static int beginAsync(String name) {
+        int cookie = NEXT_COOKIE.getAndIncrement();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(name, cookie);
+        }
+        return cookie;
+    }
+
+    /**
+     * Closes an async section opened by {@link #beginAsync(String)}.
+     *
+     * @param name   the section name
+     * @param cookie the cookie returned when the section was opened
+     */
+    public static void endAsync(String name, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(name, cookie);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.countryquiz;
+
+/*
+ * Android libraries for logging and context access.
+ * Java concurrency utilities for the lock-free reference to the active pack.
+ */
+import android.content.Context;
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Process-wide cache of the catalogs behind the {@link QuestionPack}s.
+ * <p>
+ * The default {@link QuestionPack#CONTINENTS} pack is served by the
+ * {@link CountryCatalogCache}, which app startup already warms. Every other pack is
+ * loaded from its asset through a {@link QuestionSource} the first time it is asked
+ * for, and only the most recently used one is kept: selecting another pack drops the
+ * previous catalog, so memory follows the active pack however many packs ship.
+ */
+public final class QuestionPackCache {
+    private static final String TAG = "QuestionPackCache";
+
+    private static QuestionPackCache instance;
+
+    private final Context context;
+    private final CountryCatalogCache countryCatalogCache;
+    private final AtomicReference<Loaded> active = new AtomicReference<>();
+    private final Object loadLock = new Object();
+
+    /**
+     * Immutable pair of a pack and its loaded catalog.
+     */
+    private static final class Loaded {
+        final QuestionPack pack;
+        final CountryCatalog catalog;
+
+        Loaded(QuestionPack pack, CountryCatalog catalog) {
+            this.pack = pack;
+            this.catalog = catalog;
+        }
+    }
+
+    /**
+     * Private constructor to enforce singleton pattern.
+     *
+     * @param context the application context
+     */
+    private QuestionPackCache(Context context) {
+        this.context = context;
+        this.countryCatalogCache = CountryCatalogCache.getInstance(context);
+    }
+
+    /**
+     * Gets the singleton instance of the pack cache.
+     *
+     * @param context any context; only the application context is kept
+     * @return the QuestionPackCache instance
+     */
+    public static synchronized QuestionPackCache getInstance(Context context) {
+        if (instance == null) {
+            instance = new QuestionPackCache(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the catalog of a pack without loading it. Safe to call on the main thread.
+     *
+     * @param pack the pack
+     * @return the catalog, or null if it is not in memory
+     */
+    public CountryCatalog peek(QuestionPack pack) {
+        if (pack == QuestionPack.CONTINENTS) return countryCatalogCache.peek();
+        Loaded loaded = active.get();
+        return loaded != null && loaded.pack == pack ? loaded.catalog : null;
+    }
+
+    /**
+     * Returns the catalog of a pack, loading it if it is not the active one. Must not be
+     * called on the main thread.
+     *
+     * @param pack the pack
+     * @return the catalog; empty if the pack's dataset cannot be read
+     */
+    public CountryCatalog get(QuestionPack pack) {
+        if (pack == QuestionPack.CONTINENTS) return countryCatalogCache.get();
+        CountryCatalog catalog = peek(pack);
+        if (catalog != null) return catalog;
+
+        synchronized (loadLock) {
+            catalog = peek(pack);
+            if (catalog != null) return catalog;
+
+            // Let the previous pack go before reading the next one
+            active.set(null);
+            try (PerfTrace ignored = PerfTrace.begin("QuestionPackCache.load")) {
+                catalog = sourceFor(pack).load();
+            } catch (IOException e) {
+                Log.e(TAG, "Cannot load question pack " + pack.getId(), e);
+                return new CountryCatalog(Collections.emptyList());
+            }
+            active.set(new Loaded(pack, catalog));
+            return catalog;
+        }
+    }
+
+    /**
+     * Returns the source that reads a pack from the assets folder.
+     *
+     * @param pack the pack
+     * @return a source for its CSV asset
+     */
+    private QuestionSource sourceFor(QuestionPack pack) {
+        return new CsvQuestionSource(pack, context.getAssets()::open);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.countryquiz;
+
+/*
+ * AndroidX annotation library for the string resource ids.
+ */
+import androidx.annotation.StringRes;
+
+/**
+ * Maps each shipped {@link QuestionPack} to its string resources by
+ * {@link QuestionPack#getId()}, so the labels do not depend on the order of
+ * {@link QuestionPack#all()}.
+ */
+final class QuestionPackStrings {
+
+    private QuestionPackStrings() {
+    }
+
+    /**
+     * Returns the name of a pack, as shown in the pack picker.
+     *
+     * @param pack a shipped pack
+     * @return the string resource of the pack's name
+     * @throws IllegalArgumentException if the pack has no strings
+     */
+    @StringRes
+    static int label(QuestionPack pack) {
+        switch (pack.getId()) {
+            case "continents":
+                return R.string.pack_continents;
+            case "capitals":
+                return R.string.pack_capitals;
+            case "regions":
+                return R.string.pack_regions;
+            default:
+                throw new IllegalArgumentException("No strings for pack " + pack.getId());
+        }
+    }
+
+    /**
+     * Returns the welcome text describing a pack's quiz, formatted with the question
+     * and option counts.
+     *
+     * @param pack a shipped pack
+     * @return the string resource of the pack's quiz description
+     * @throws IllegalArgumentException if the pack has no strings
+     */
+    @StringRes
+    static int info(QuestionPack pack) {
+        switch (pack.getId()) {
+            case "continents":
+                return R.string.quiz_info_continents;
+            case "capitals":
+                return R.string.quiz_info_capitals;
+            case "regions":
+                return R.string.quiz_info_regions;
+            default:
+                throw new IllegalArgumentException("No strings for pack " + pack.getId());
+        }
+    }
+}
@@ -1,37 +1,122 @@
 package com.example.countryquiz;
 
 /*
- * Android libraries for activity lifecycle, UI navigation, background tasks, and toasts.
- * Java utilities for date formatting, localization, and memory-safe references.
+ * Android libraries for activity lifecycle, UI navigation, and toasts.
+ * AndroidX lifecycle library for the quiz session ViewModel.
+ * Java utility libraries for the final picks scored with the result and replayed picks.
  */
-import android.os.AsyncTask;
+import android.content.Context;
+import android.content.Intent;
 import android.os.Bundle;
+import android.os.SystemClock;
+import android.view.ViewTreeObserver;
 import android.widget.Toast;
 
 import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.ViewModelProvider;
 import androidx.viewpager2.widget.ViewPager2;
 
-import java.lang.ref.WeakReference;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Locale;
 
 /**
- * The activity that handles quiz gameplay using a ViewPager2 and QuestionFragments.
- * It loads questions from the database, manages quiz flow, and saves results.
+ * The activity that handles quiz gameplay using a ViewPager2 of recycled question
+ * pages. It builds questions from the catalog of the selected {@link QuestionPack},
+ * manages quiz flow, records answers and saves results.
  */
-public class QuizActivity extends AppCompatActivity {
+public class QuizActivity extends AppCompatActivity implements QuizPagerAdapter.Listener {
+
+    // Intent extras describing the quiz to generate
+    public static final String EXTRA_QUESTION_COUNT = "com.example.countryquiz.QUESTION_COUNT";
+    public static final String EXTRA_OPTION_COUNT = "com.example.countryquiz.OPTION_COUNT";
+    // When the quiz was asked for, in SystemClock.elapsedRealtime() milliseconds
+    public static final String EXTRA_REQUESTED_AT = "com.example.countryquiz.REQUESTED_AT";
+    // Seed and question layout of a quiz to replay instead of generating a fresh one
+    public static final String EXTRA_SEED = "com.example.countryquiz.SEED";
+    public static final String EXTRA_COUNTRIES = "com.example.countryquiz.COUNTRIES";
+    public static final String EXTRA_OPTIONS = "com.example.countryquiz.OPTIONS";
+    // Ask the countries due for spaced-repetition review instead of a fresh mix
+    public static final String EXTRA_REVIEW = "com.example.countryquiz.REVIEW";
+    // Id of the question pack to ask; continents when absent
+    public static final String EXTRA_PACK = "com.example.countryquiz.PACK";
+    // Cookie of the open FIRST_QUESTION_SECTION, from PerfTrace.beginAsync
+    public static final String EXTRA_TRACE_COOKIE = "com.example.countryquiz.TRACE_COOKIE";
+
+    // Async trace section from tapping start to drawing the first question
+    public static final String FIRST_QUESTION_SECTION = "QuizActivity.timeToFirstQuestion";
 
     ViewPager2 viewPager;
-    CountryQuizData quizData;
-    Quiz quiz;
-    boolean resultStored = false; // Track if result has been saved
+    QuizConfig config;
+    QuestionPack pack;
+    QuizSession session;
+    QuizPrefetcher prefetcher;
+    long requestedAt; // 0 when this is not a fresh start, so no timing is recorded
+    int traceCookie; // 0 when this activity has no first-question section to close
+    QuizPagerAdapter adapter;
+    long shownAt; // when the current page came on screen, in elapsedRealtime() milliseconds
+
+    /**
+     * Creates an intent that starts a continent quiz with the given configuration.
+     *
+     * @param context the calling context
+     * @param config  the number of questions and options to generate
+     * @return the intent to start this activity
+     */
+    public static Intent newIntent(Context context, QuizConfig config) {
+        return newIntent(context, config, QuestionPack.CONTINENTS);
+    }
+
+    /**
+     * Creates an intent that starts a quiz from the given question pack.
+     *
+     * @param context the calling context
+     * @param config  the number of questions and options to generate
+     * @param pack    the question pack to ask from
+     * @return the intent to start this activity
+     */
+    public static Intent newIntent(Context context, QuizConfig config, QuestionPack pack) {
+        Intent intent = new Intent(context, QuizActivity.class);
+        intent.putExtra(EXTRA_QUESTION_COUNT, config.getQuestionCount());
+        intent.putExtra(EXTRA_OPTION_COUNT, config.getOptionCount());
+        intent.putExtra(EXTRA_PACK, pack.getId());
+        intent.putExtra(EXTRA_REQUESTED_AT, SystemClock.elapsedRealtime());
+        return intent;
+    }
 
     /**
-     * Called when the quiz activity is created. Initializes the ViewPager
-     * and loads country data asynchronously.
+     * Creates an intent that replays the given quiz with the same questions and options,
+     * unanswered. The questions are rebuilt from their catalog positions and option ids,
+     * so the replay does not depend on how the difficulty statistics moved since.
+     *
+     * @param context the calling context
+     * @param pack    the question pack the original quiz asked from
+     * @param quiz    the original quiz
+     * @return the intent to start this activity
+     */
+    public static Intent newReplayIntent(Context context, QuestionPack pack, Quiz quiz) {
+        return newIntent(context, quiz.getConfig(), pack)
+                .putExtra(EXTRA_SEED, quiz.getSeed())
+                .putExtra(EXTRA_COUNTRIES, quiz.getCountryIndices())
+                .putExtra(EXTRA_OPTIONS, quiz.getOptionIds());
+    }
+
+    /**
+     * Creates an intent that starts a review of the countries due for spaced repetition,
+     * topped up with random countries when fewer are due.
+     *
+     * @param context the calling context
+     * @param config  the number of questions and options to generate
+     * @return the intent to start this activity
+     */
+    public static Intent newReviewIntent(Context context, QuizConfig config) {
+        return newIntent(context, config).putExtra(EXTRA_REVIEW, true);
+    }
+
+    /**
+     * Called when the quiz activity is created. Initializes the ViewPager and shows
+     * the session's quiz: a prefetched one when available, otherwise one restored or
+     * generated once the catalog is loaded.
      *
      * @param savedInstanceState the saved instance state, if any
      */
@@ -42,139 +127,295 @@ public class QuizActivity extends AppCompatActivity {
 
         viewPager = findViewById(R.id.viewPager);
 
-        quizData = new CountryQuizData(this);
-        quizData.open();
+        Intent intent = getIntent();
+        if (savedInstanceState == null) {
+            // A section from a previous process is gone already; one from a previous
+            // instance was closed in its onDestroy
+            traceCookie = intent.getIntExtra(EXTRA_TRACE_COOKIE, 0);
+        }
+        config = new QuizConfig(
+                intent.getIntExtra(EXTRA_QUESTION_COUNT, QuizConfig.DEFAULT.getQuestionCount()),
+                intent.getIntExtra(EXTRA_OPTION_COUNT, QuizConfig.DEFAULT.getOptionCount()));
+        pack = QuestionPack.forId(intent.getStringExtra(EXTRA_PACK));
+
+        session = new ViewModelProvider(this).get(QuizSession.class);
+        prefetcher = QuizPrefetcher.getInstance(this);
 
-        // Load countries in background
-        new LoadCountriesTask(this).execute();
+        // After a configuration change the session still holds the quiz
+        Quiz quiz = session.getQuiz().getValue();
+        if (quiz != null) {
+            showQuiz(quiz);
+            return;
+        }
+
+        boolean freshMix = !intent.hasExtra(EXTRA_SEED) && !intent.getBooleanExtra(EXTRA_REVIEW, false);
+        if (savedInstanceState == null && freshMix) {
+            requestedAt = intent.getLongExtra(EXTRA_REQUESTED_AT, SystemClock.elapsedRealtime());
+
+            // Hot path: a quiz was generated in the background ahead of time
+            quiz = pack == QuestionPack.CONTINENTS ? prefetcher.poll(config) : null;
+            if (quiz != null) {
+                session.start(quiz);
+                showQuiz(quiz);
+                trackFirstQuestion(true);
+                return;
+            }
+        }
+
+        // Reuse the pack's catalog when it is already in memory
+        QuestionPackCache packs = QuestionPackCache.getInstance(this);
+        CountryCatalog catalog = packs.peek(pack);
+        if (catalog != null) {
+            onCatalogReady(catalog);
+        } else {
+            // Load in background; cancelled if the activity is destroyed first
+            TaskScheduler.getInstance().read(TaskScheduler.Priority.HIGH,
+                    () -> packs.get(pack), this, this::onCatalogReady);
+        }
+    }
+
+    /**
+     * Restarts the answer timer when the quiz comes back to the foreground.
+     */
+    @Override
+    protected void onResume() {
+        super.onResume();
+        shownAt = SystemClock.elapsedRealtime();
     }
 
     /**
-     * Closes the database connection when the activity is destroyed.
+     * Flushes buffered answers whenever the quiz leaves the foreground.
+     */
+    @Override
+    protected void onPause() {
+        super.onPause();
+        session.getAnswerLog().flush();
+    }
+
+    /**
+     * Closes the first-question trace section when the quiz goes away before its first
+     * question was drawn: backed out of, failed to load, or recreated.
      */
     @Override
     protected void onDestroy() {
+        endFirstQuestionSection();
         super.onDestroy();
-        quizData.close();
     }
 
     /**
-     * AsyncTask to load countries from the database and start the quiz.
-     * Uses WeakReference to avoid memory leaks.
+     * Restores the quiz saved before process death, or generates a new one from the
+     * catalog: a review of the due countries, the replayed quiz if one was passed, or
+     * otherwise a fresh one (the cold path).
+     *
+     * @param catalog the catalog of the quiz's pack
      */
-    private static class LoadCountriesTask extends AsyncTask<Void, Void, List<Country>> {
-        private WeakReference<QuizActivity> activityRef;
+    private void onCatalogReady(CountryCatalog catalog) {
+        if (!session.restore(catalog)) {
+            if (catalog.size() == 0 || catalog.getContinentIndex().getContinentCount() < 2) {
+                Toast.makeText(this, "Not enough countries!", Toast.LENGTH_SHORT).show();
+                finish();
+                return;
+            }
+            Intent intent = getIntent();
+            if (intent.getBooleanExtra(EXTRA_REVIEW, false) && pack == QuestionPack.CONTINENTS) {
+                // The due list is a database read, so the review is built on the reader pool
+                Context appContext = getApplicationContext();
+                TaskScheduler.getInstance().read(TaskScheduler.Priority.HIGH,
+                        () -> buildReview(appContext, catalog), this, this::onReviewReady);
+                return;
+            }
+            if (intent.hasExtra(EXTRA_SEED)) {
+                Quiz replay = buildReplay(intent, catalog);
+                if (replay == null) {
+                    Toast.makeText(this, "This quiz can no longer be replayed", Toast.LENGTH_SHORT).show();
+                    finish();
+                    return;
+                }
+                session.start(replay);
+                showQuiz(session.getQuiz().getValue());
+                return;
+            }
+            Quiz quiz;
+            try (PerfTrace ignored = PerfTrace.begin("Quiz.generate")) {
+                quiz = prefetcher.getGenerator().generate(catalog, config);
+            }
+            session.start(quiz);
+            if (pack == QuestionPack.CONTINENTS) prefetcher.refill(config);
+            showQuiz(session.getQuiz().getValue());
+            trackFirstQuestion(false);
+            return;
+        }
+        showQuiz(session.getQuiz().getValue());
+    }
 
-        /**
-         * Constructs the task with a weak reference to the activity.
-         *
-         * @param activity the quiz activity instance
-         */
-        LoadCountriesTask(QuizActivity activity) {
-            this.activityRef = new WeakReference<>(activity);
+    /**
+     * Rebuilds the quiz passed to {@link #newReplayIntent}, with every question unanswered.
+     *
+     * @param intent  the replay intent
+     * @param catalog the catalog of the quiz's pack
+     * @return the quiz, or null if its layout no longer fits the catalog
+     */
+    @Nullable
+    private Quiz buildReplay(Intent intent, CountryCatalog catalog) {
+        int[] countries = intent.getIntArrayExtra(EXTRA_COUNTRIES);
+        int[] options = intent.getIntArrayExtra(EXTRA_OPTIONS);
+        if (countries == null || options == null) return null;
+        int[] choices = new int[countries.length];
+        Arrays.fill(choices, Question.NO_CHOICE);
+        try {
+            return new Quiz(catalog, config, intent.getLongExtra(EXTRA_SEED, 0), countries, options, choices);
+        } catch (IllegalArgumentException e) {
+            return null;
         }
+    }
 
-        /**
-         * Loads the list of countries in the background.
-         *
-         * @param voids unused
-         * @return list of countries from the database
-         */
-        @Override
-        protected List<Country> doInBackground(Void... voids) {
-            QuizActivity activity = activityRef.get();
-            if (activity == null) return null;
-            return activity.quizData.getAllCountries();
+    /**
+     * Looks up the due countries and generates the review quiz. Runs on the reader pool.
+     *
+     * @param context the application context
+     * @param catalog the shared country catalog
+     * @return the review quiz
+     */
+    private Quiz buildReview(Context context, CountryCatalog catalog) {
+        CountryQuizData data = new CountryQuizData(context);
+        data.open();
+        int[] due = data.getDueCountries(catalog, System.currentTimeMillis(), config.getQuestionCount());
+        try (PerfTrace ignored = PerfTrace.begin("Quiz.generate")) {
+            return new ReviewQuizGenerator(catalog, due).generate(catalog, config);
         }
+    }
 
-        /**
-         * Initializes the quiz and sets up ViewPager2 with quiz fragments.
-         *
-         * @param countries the list of countries loaded from the database
-         */
-        @Override
-        protected void onPostExecute(List<Country> countries) {
-            QuizActivity activity = activityRef.get();
-            if (activity == null || countries == null) return;
-
-            if (countries.size() < 6) {
-                Toast.makeText(activity, "Not enough countries!", Toast.LENGTH_SHORT).show();
-                activity.finish();
-            } else {
-                activity.quiz = new Quiz(countries);
-                activity.viewPager.setAdapter(new QuizPagerAdapter(
-                        activity.quiz,
-                        activity.getSupportFragmentManager(),
-                        activity.getLifecycle()
-                ));
-
-                activity.viewPager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
-                    @Override
-                    public void onPageSelected(int position) {
-                        super.onPageSelected(position);
-
-                        int total = activity.quiz.getQuestions().size();
-                        if (position == total && !activity.resultStored) {
-                            activity.resultStored = true;
-
-                            // Save quiz result in background
-                            String date = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault()).format(new Date());
-                            new SaveQuizResultTask(activity, date, activity.quiz.getCurrentScore()).execute();
-                        }
-                    }
-                });
+    /**
+     * Starts the review quiz built on the reader pool.
+     *
+     * @param quiz the review quiz
+     */
+    private void onReviewReady(Quiz quiz) {
+        session.start(quiz);
+        showQuiz(quiz);
+    }
+
+    /**
+     * Records the time from asking for the quiz until the first question is about to be
+     * drawn. Only fresh starts are measured.
+     *
+     * @param hot true if the quiz came from the prefetch queue
+     */
+    private void trackFirstQuestion(boolean hot) {
+        if (requestedAt == 0) return;
+        long since = requestedAt;
+        requestedAt = 0;
+        viewPager.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                viewPager.getViewTreeObserver().removeOnPreDrawListener(this);
+                endFirstQuestionSection();
+                prefetcher.recordTimeToFirstQuestion(hot, SystemClock.elapsedRealtime() - since);
+                return true;
             }
-        }
+        });
     }
 
     /**
-     * AsyncTask to save the quiz result (date and score) into the database.
-     * Uses WeakReference to avoid leaking the activity context.
+     * Closes the first-question trace section, if this activity still holds it open.
      */
-    private static class SaveQuizResultTask extends AsyncTask<Void, Void, Void> {
-        private WeakReference<QuizActivity> activityRef;
-        private String date;
-        private int score;
+    private void endFirstQuestionSection() {
+        if (traceCookie == 0) return;
+        PerfTrace.endAsync(FIRST_QUESTION_SECTION, traceCookie);
+        traceCookie = 0;
+    }
 
-        /**
-         * Constructs the task with activity reference, quiz date, and score.
-         *
-         * @param activity the quiz activity instance
-         * @param date     the date of the quiz attempt
-         * @param score    the final score
-         */
-        SaveQuizResultTask(QuizActivity activity, String date, int score) {
-            this.activityRef = new WeakReference<>(activity);
-            this.date = date;
-            this.score = score;
-        }
+    /**
+     * Sets up ViewPager2 with one page per question plus the result page.
+     *
+     * @param quiz the session's quiz
+     */
+    private void showQuiz(Quiz quiz) {
+        adapter = new QuizPagerAdapter(quiz, pack, this, this);
+        adapter.attachTo(viewPager);
+
+        viewPager.registerOnPageChangeCallback(new ViewPager2.OnPageChangeCallback() {
+            @Override
+            public void onPageSelected(int position) {
+                super.onPageSelected(position);
+                shownAt = SystemClock.elapsedRealtime();
 
-        /**
-         * Performs the database insert operation in the background.
-         *
-         * @param voids unused
-         * @return null
-         */
-        @Override
-        protected Void doInBackground(Void... voids) {
-            QuizActivity activity = activityRef.get();
-            if (activity != null) {
-                activity.quizData.storeQuizResult(date, score);
+                int total = quiz.getQuestions().size();
+                if (position == total) {
+                    // The page may have been bound ahead of time, before the last answers
+                    adapter.refreshResult();
+                    if (session.markResultStored()) {
+                        // Save answers and quiz result in background
+                        session.getAnswerLog().flush();
+                        saveQuizResult(quiz, System.currentTimeMillis());
+                    }
+                }
             }
-            return null;
-        }
+        });
+    }
+
+    /**
+     * Records a pick in the quiz and, for continent questions, in the session's answer
+     * log. The difficulty statistics only take the final picks, when the quiz is scored.
+     *
+     * @param questionIndex the position of the question
+     * @param choice        the picked option index
+     */
+    @Override
+    public void onAnswer(int questionIndex, int choice) {
+        Quiz quiz = session.getQuiz().getValue();
+        if (quiz == null) return;
+        quiz.answer(questionIndex, choice);
+        if (pack != QuestionPack.CONTINENTS) return;
 
-        /**
-         * Displays a toast message to show that the result was saved.
-         *
-         * @param unused unused
-         */
-        @Override
-        protected void onPostExecute(Void unused) {
-            QuizActivity activity = activityRef.get();
-            if (activity != null) {
-                Toast.makeText(activity, "Quiz finished! Score: " + score + "/6", Toast.LENGTH_LONG).show();
+        Question q = quiz.getQuestions().get(questionIndex);
+        long answerMillis = shownAt > 0 ? SystemClock.elapsedRealtime() - shownAt : 0;
+        session.getAnswerLog().record(new AnswerEvent(questionIndex,
+                q.getCountryName(), q.getCorrectAnswer(), choice, q.getOption(choice),
+                q.isCorrect(), answerMillis, System.currentTimeMillis()));
+    }
+
+    /**
+     * Chains straight into another quiz of the same shape. Usually instant: the next
+     * quiz is prefetched while this one is played.
+     */
+    @Override
+    public void onPlayAgain() {
+        startActivity(newIntent(this, config, pack));
+        finish();
+    }
+
+    /**
+     * Saves the quiz result (timestamp, score, total, pack and the seed to replay it) on
+     * the database writer thread, and counts the final pick of
+     * each answered question once in the difficulty statistics, in memory and in the same
+     * write. The write is not tied to this activity's lifecycle, so leaving the result
+     * page early still records the quiz.
+     *
+     * @param quiz      the finished quiz
+     * @param timestamp when the quiz was finished, in epoch milliseconds
+     */
+    private void saveQuizResult(Quiz quiz, long timestamp) {
+        CountryQuizData data = new CountryQuizData(this);
+        long sessionId = session.getSessionId();
+        int score = quiz.getCurrentScore();
+        int total = quiz.getQuestions().size();
+        int optionCount = quiz.getConfig().getOptionCount();
+        long seed = quiz.getSeed();
+        String packId = pack.getId();
+        List<AnswerEvent> answers = session.getAnswerLog().getFinalAnswers();
+        if (pack == QuestionPack.CONTINENTS) {
+            DifficultyStore difficulty = DifficultyStore.getInstance(this);
+            for (Question q : quiz.getQuestions()) {
+                if (q.getUserChoice() != Question.NO_CHOICE) difficulty.recordAnswer(q, q.getUserChoice());
             }
         }
+        Context appContext = getApplicationContext();
+        TaskScheduler.getInstance().write(TaskScheduler.Priority.LOW, () -> {
+            data.open();
+            data.storeQuizResult(sessionId, timestamp, score, total, optionCount, seed, packId, answers);
+            return null;
+        }, null, unused -> Toast.makeText(appContext,
+                "Quiz finished! Score: " + score + "/" + total, Toast.LENGTH_LONG).show());
     }
-}
\ No newline at end of file
+}
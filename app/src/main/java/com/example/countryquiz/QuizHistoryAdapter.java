@@ -0,0 +1,96 @@
+package com.example.countryquiz;
+
+/*
+ * Android and Jetpack libraries for binding history rows into recycled views.
+ * Java utilities for date formatting and list management.
+ */
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RecyclerView adapter for the quiz history. Pages are appended as they are loaded,
+ * and rows are formatted only when they are bound to a visible view.
+ */
+public class QuizHistoryAdapter extends RecyclerView.Adapter<QuizHistoryAdapter.ViewHolder> {
+
+    private final List<QuizResult> results = new ArrayList<>();
+    private final DateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm", Locale.getDefault());
+    private final Date date = new Date();
+
+    /**
+     * Constructs the adapter with stable ids taken from the result row ids.
+     */
+    public QuizHistoryAdapter() {
+        setHasStableIds(true);
+    }
+
+    /**
+     * Appends a freshly loaded page to the end of the list.
+     *
+     * @param page the results to append, newest first
+     */
+    public void appendPage(List<QuizResult> page) {
+        int start = results.size();
+        results.addAll(page);
+        notifyItemRangeInserted(start, page.size());
+    }
+
+    /**
+     * Returns the oldest result loaded so far, which is the key for the next page.
+     *
+     * @return the last result, or null if nothing is loaded
+     */
+    public QuizResult getLastResult() {
+        return results.isEmpty() ? null : results.get(results.size() - 1);
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(android.R.layout.simple_list_item_1, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        QuizResult result = results.get(position);
+        date.setTime(result.getTimestamp());
+        holder.text.setText(holder.text.getContext().getString(R.string.history_item,
+                dateFormat.format(date), result.getScore(), result.getTotal()));
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return results.get(position).getId();
+    }
+
+    @Override
+    public int getItemCount() {
+        return results.size();
+    }
+
+    /**
+     * Holds the single text view of a history row.
+     */
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final TextView text;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            text = itemView.findViewById(android.R.id.text1);
+        }
+    }
+}
@@ -1,59 +1,283 @@
 package com.example.countryquiz;
 
 /*
- * AndroidX libraries for managing fragments and lifecycle-aware paging in ViewPager2.
+ * Android and Jetpack libraries for inflating and recycling the quiz pages, with the
+ * result breakdown formatted in the background.
  */
+import android.content.res.Resources;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.RadioButton;
+import android.widget.RadioGroup;
+import android.widget.TextView;
+
 import androidx.annotation.NonNull;
-import androidx.fragment.app.Fragment;
-import androidx.fragment.app.FragmentManager;
-import androidx.lifecycle.Lifecycle;
-import androidx.viewpager2.adapter.FragmentStateAdapter;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.viewpager2.widget.ViewPager2;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Adapter for the ViewPager2 that supplies QuestionFragments for each quiz question
- * and a ResultFragment at the end of the quiz.
+ * View-based adapter for the ViewPager2: one page per quiz question and a result page
+ * at the end.
+ * <p>
+ * Pages are plain recycled views rather than fragments. A question page keeps its
+ * views and radio buttons in a {@link QuestionHolder} and only rebinds texts and the
+ * checked state, so swiping through a long quiz neither inflates layouts nor creates
+ * fragments. Item ids are stable (the page position), and {@link #attachTo(ViewPager2)}
+ * sets how many neighbouring pages are bound ahead of time and kept cached.
+ * Answers and the play-again button are reported to a {@link Listener}.
  */
-public class QuizPagerAdapter extends FragmentStateAdapter {
+public class QuizPagerAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> {
 
-    private Quiz quiz;
+    /** Pages bound on each side of the current one, so a swipe finds them ready. */
+    static final int OFFSCREEN_PAGE_LIMIT = 1;
+    /** Detached pages kept bound beyond the offscreen ones, for quick swipes back. */
+    static final int ITEM_VIEW_CACHE_SIZE = 2;
+
+    private static final int TYPE_QUESTION = 0;
+    private static final int TYPE_RESULT = 1;
+    private static final Object REFRESH = new Object();
 
     /**
-     * Constructs the adapter with the given quiz and fragment manager.
+     * Receives the user's actions on the pages.
+     */
+    public interface Listener {
+        /**
+         * Called when an option is picked.
+         *
+         * @param questionIndex the position of the question
+         * @param choice        the picked option index
+         */
+        void onAnswer(int questionIndex, int choice);
+
+        /**
+         * Called when the play-again button on the result page is pressed.
+         */
+        void onPlayAgain();
+    }
+
+    private final Quiz quiz;
+    private final QuestionPack pack;
+    private final LifecycleOwner owner;
+    private final Listener listener;
+
+    /**
+     * Constructs the adapter for the given quiz.
      *
      * @param quiz     the Quiz object containing all questions
-     * @param fm       the FragmentManager used to manage fragments
-     * @param lifecycle the lifecycle of the activity hosting the adapter
+     * @param pack     the question pack the quiz was generated from, for the prompts
+     * @param owner    the lifecycle that background formatting of the result is tied to
+     * @param listener receives answers and play-again presses
      */
-    public QuizPagerAdapter(Quiz quiz, FragmentManager fm, Lifecycle lifecycle) {
-        super(fm, lifecycle);
+    public QuizPagerAdapter(Quiz quiz, QuestionPack pack, LifecycleOwner owner, Listener listener) {
         this.quiz = quiz;
+        this.pack = pack;
+        this.owner = owner;
+        this.listener = listener;
+        setHasStableIds(true);
     }
 
     /**
-     * Creates a new fragment based on the current position.
-     * Returns a QuestionFragment for quiz questions, and a ResultFragment at the end.
+     * Sets this adapter on the pager, together with its offscreen page limit and the
+     * view cache of the pager's inner RecyclerView.
      *
-     * @param position the index of the page to create
-     * @return the corresponding Fragment instance
+     * @param pager the pager to show the quiz in
      */
-    @NonNull
-    @Override
-    public Fragment createFragment(int position) {
-        if (position < quiz.getQuestions().size()) {
-            return QuestionFragment.newInstance(position, quiz);
-        } else {
-            ResultFragment.setQuiz(quiz); // pass quiz only
-            return ResultFragment.newInstance(); // no score passed
+    public void attachTo(ViewPager2 pager) {
+        pager.setOffscreenPageLimit(OFFSCREEN_PAGE_LIMIT);
+        View inner = pager.getChildAt(0);
+        if (inner instanceof RecyclerView) {
+            ((RecyclerView) inner).setItemViewCacheSize(ITEM_VIEW_CACHE_SIZE);
         }
+        pager.setAdapter(this);
+    }
+
+    /**
+     * Returns the position of the result page.
+     *
+     * @return the result page position, equal to the number of questions
+     */
+    public int getResultPosition() {
+        return quiz.getQuestions().size();
+    }
+
+    /**
+     * Rebinds the result page in place, for example after answers changed. The payload
+     * keeps the same holder, so the page does not flash.
+     */
+    public void refreshResult() {
+        notifyItemChanged(getResultPosition(), REFRESH);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return position < getResultPosition() ? TYPE_QUESTION : TYPE_RESULT;
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return position;
     }
 
     /**
      * Returns the number of pages (questions + result screen).
      *
-     * @return total number of fragments
+     * @return total number of pages
      */
     @Override
     public int getItemCount() {
         return quiz.getQuestions().size() + 1; // +1 for the result screen
     }
-}
\ No newline at end of file
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        try (PerfTrace ignored = PerfTrace.begin("QuizPagerAdapter.createPage")) {
+            LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+            if (viewType == TYPE_QUESTION) {
+                return new QuestionHolder(inflater.inflate(R.layout.page_question, parent, false));
+            }
+            return new ResultHolder(inflater.inflate(R.layout.page_result, parent, false));
+        }
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        try (PerfTrace ignored = PerfTrace.begin("QuizPagerAdapter.bindPage")) {
+            if (holder instanceof QuestionHolder) {
+                ((QuestionHolder) holder).bind(quiz.getQuestions().get(position));
+            } else {
+                ((ResultHolder) holder).bind();
+            }
+        }
+    }
+
+    /**
+     * The views of a question page. Radio buttons are created once per option count
+     * and reused for every question bound to this holder.
+     */
+    final class QuestionHolder extends RecyclerView.ViewHolder {
+        final TextView questionText;
+        final RadioGroup optionsGroup;
+        RadioButton[] buttons = new RadioButton[0];
+        boolean binding;
+
+        QuestionHolder(View itemView) {
+            super(itemView);
+            questionText = itemView.findViewById(R.id.questionText);
+            optionsGroup = itemView.findViewById(R.id.optionsGroup);
+            optionsGroup.setOnCheckedChangeListener((group, checkedId) -> {
+                int position = getBindingAdapterPosition();
+                // Checks made while binding restore earlier picks; do not record them again
+                if (binding || position == RecyclerView.NO_POSITION || checkedId == View.NO_ID) return;
+                for (int choice = 0; choice < buttons.length; choice++) {
+                    if (buttons[choice].getId() == checkedId) {
+                        listener.onAnswer(position, choice);
+                        return;
+                    }
+                }
+            });
+        }
+
+        /**
+         * Shows a question: its text, one lettered option per button (A., B., C., ...)
+         * and the earlier pick, if any.
+         *
+         * @param q the question to show
+         */
+        void bind(Question q) {
+            binding = true;
+            List<String> options = q.getOptions();
+            if (buttons.length != options.size()) {
+                optionsGroup.removeAllViews();
+                buttons = new RadioButton[options.size()];
+                for (int i = 0; i < buttons.length; i++) {
+                    buttons[i] = new RadioButton(itemView.getContext());
+                    buttons[i].setId(View.generateViewId());
+                    optionsGroup.addView(buttons[i], new RadioGroup.LayoutParams(
+                            ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+                }
+            }
+
+            questionText.setText(pack.prompt(q.getCountryName()));
+            for (int i = 0; i < buttons.length; i++) {
+                char label = (char) ('A' + i);
+                buttons[i].setText(label + ". " + options.get(i));
+            }
+            if (q.getUserChoice() != Question.NO_CHOICE) {
+                optionsGroup.check(buttons[q.getUserChoice()].getId());
+            } else {
+                optionsGroup.clearCheck();
+            }
+            binding = false;
+        }
+    }
+
+    /**
+     * The views of the result page: the score, the breakdown list and the play-again
+     * button. Rebinding formats the breakdown again on the reader pool; the list adapter
+     * diffs it, so only changed answers are redrawn.
+     */
+    final class ResultHolder extends RecyclerView.ViewHolder {
+        final TextView resultText;
+        final ResultLineAdapter lines = new ResultLineAdapter();
+
+        ResultHolder(View itemView) {
+            super(itemView);
+            resultText = itemView.findViewById(R.id.resultText);
+            RecyclerView resultList = itemView.findViewById(R.id.resultList);
+            resultList.setLayoutManager(new LinearLayoutManager(itemView.getContext()));
+            resultList.setHasFixedSize(true);
+            resultList.setAdapter(lines);
+            Button playAgain = itemView.findViewById(R.id.playAgainButton);
+            playAgain.setOnClickListener(v -> listener.onPlayAgain());
+        }
+
+        /**
+         * Shows the current score and formats the breakdown lines in the background. The
+         * picks are copied here on the main thread, where answers are recorded.
+         */
+        void bind() {
+            Resources resources = itemView.getResources();
+            List<Question> questions = quiz.getQuestions();
+            resultText.setText(resources.getString(R.string.quiz_score_summary,
+                    quiz.getCurrentScore(), questions.size()));
+
+            int[] choices = new int[questions.size()];
+            for (int i = 0; i < choices.length; i++) {
+                choices[i] = questions.get(i).getUserChoice();
+            }
+            TaskScheduler.getInstance().read(TaskScheduler.Priority.NORMAL,
+                    () -> formatLines(resources, questions, choices), owner, lines::submitList);
+        }
+    }
+
+    /**
+     * Formats one line per question, showing the pick and, when it is wrong, the
+     * correct continent.
+     *
+     * @param resources the resources holding the line formats
+     * @param questions the quiz questions
+     * @param choices   the pick for each question, or {@link Question#NO_CHOICE}
+     * @return the formatted lines, in question order
+     */
+    static List<ResultLine> formatLines(Resources resources, List<Question> questions, int[] choices) {
+        List<ResultLine> lines = new ArrayList<>(questions.size());
+        for (int i = 0; i < choices.length; i++) {
+            Question q = questions.get(i);
+            String country = q.getCountryName();
+            String userAnswer = choices[i] == Question.NO_CHOICE ? null : q.getOption(choices[i]);
+            String line = choices[i] == q.getCorrectIndex()
+                    ? resources.getString(R.string.answer_correct, country, userAnswer)
+                    : resources.getString(R.string.answer_wrong, country, userAnswer, q.getCorrectAnswer());
+            lines.add(new ResultLine(i, line));
+        }
+        return lines;
+    }
+}
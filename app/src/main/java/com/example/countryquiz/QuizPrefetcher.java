@@ -0,0 +1,175 @@
+package com.example.countryquiz;
+
+/*
+ * Android libraries for context access and logging.
+ * Java concurrency utilities for the bounded queue of ready quizzes.
+ */
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Process-wide producer of ready-made quizzes.
+ * <p>
+ * Keeps up to {@link #CAPACITY} generated {@link Quiz} objects in a bounded queue,
+ * refilled on the {@link TaskScheduler} reader pool from the cached
+ * {@link CountryCatalog}, weighted towards the player's weak spots by an
+ * {@link AdaptiveQuizGenerator}. Starting a quiz takes one from the queue without touching
+ * the catalog or the database. Quizzes built from a catalog that has since been
+ * invalidated are dropped.
+ * <p>
+ * Also records time-to-first-question in {@link Metrics}, as {@link #HOT_STARTS} for
+ * quizzes started from the queue and {@link #COLD_STARTS} for quizzes that had to wait
+ * for the catalog.
+ */
+public final class QuizPrefetcher {
+    private static final String TAG = "QuizPrefetcher";
+
+    /** Maximum number of ready quizzes kept in memory. */
+    static final int CAPACITY = 2;
+
+    /** Histogram of time-to-first-question for quizzes taken from the queue. */
+    public static final String HOT_STARTS = "QuizPrefetcher.timeToFirstQuestion.hot";
+
+    /** Histogram of time-to-first-question for quizzes that waited for the catalog. */
+    public static final String COLD_STARTS = "QuizPrefetcher.timeToFirstQuestion.cold";
+
+    private static QuizPrefetcher instance;
+
+    private final CountryCatalogCache catalogCache;
+    private final DifficultyStore difficulty;
+    private final AdaptiveQuizGenerator generator = new AdaptiveQuizGenerator();
+    private final BlockingQueue<Entry> ready = new ArrayBlockingQueue<>(CAPACITY);
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    /**
+     * A generated quiz together with the catalog it was built from.
+     */
+    private static final class Entry {
+        final Quiz quiz;
+        final CountryCatalog catalog;
+
+        Entry(Quiz quiz, CountryCatalog catalog) {
+            this.quiz = quiz;
+            this.catalog = catalog;
+        }
+    }
+
+    /**
+     * Private constructor to enforce singleton pattern.
+     *
+     * @param context the application context
+     */
+    private QuizPrefetcher(Context context) {
+        this.catalogCache = CountryCatalogCache.getInstance(context);
+        this.difficulty = DifficultyStore.getInstance(context);
+    }
+
+    /**
+     * Gets the singleton instance of the prefetcher.
+     *
+     * @param context any context; only the application context is kept
+     * @return the QuizPrefetcher instance
+     */
+    public static synchronized QuizPrefetcher getInstance(Context context) {
+        if (instance == null) {
+            instance = new QuizPrefetcher(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the strategy used to generate quizzes, for callers that cannot wait for
+     * the queue. It follows the difficulty statistics once a refill has loaded them,
+     * and picks uniformly before that.
+     *
+     * @return the quiz generator
+     */
+    public QuizGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Takes a ready quiz for the given configuration, if one is queued, and schedules
+     * a refill. Never blocks, so it is safe to call on the main thread.
+     *
+     * @param config the shape of quiz wanted
+     * @return a fresh quiz, or null if none is ready
+     */
+    @Nullable
+    public Quiz poll(QuizConfig config) {
+        CountryCatalog current = catalogCache.peek();
+        Entry entry;
+        while ((entry = ready.poll()) != null) {
+            // Drop quizzes of another shape or built from a replaced catalog
+            if (entry.catalog == current && entry.quiz.getConfig().equals(config)) {
+                break;
+            }
+        }
+        refill(config);
+        return entry != null ? entry.quiz : null;
+    }
+
+    /**
+     * Tops the queue up to {@link #CAPACITY} quizzes of the given configuration on the
+     * reader pool, loading the catalog and its difficulty statistics first if needed.
+     * Does nothing while a refill is already running.
+     *
+     * @param config the shape of quiz to generate
+     */
+    public void refill(QuizConfig config) {
+        if (!refilling.compareAndSet(false, true)) return;
+        TaskScheduler.getInstance().read(TaskScheduler.Priority.NORMAL, () -> {
+            try {
+                CountryCatalog catalog = catalogCache.get();
+                if (catalog.size() == 0 || catalog.getContinentIndex().getContinentCount() < 2) {
+                    return null;
+                }
+                generator.setModel(difficulty.get(catalog));
+                while (ready.remainingCapacity() > 0) {
+                    Quiz quiz;
+                    try (PerfTrace ignored = PerfTrace.begin("Quiz.generate")) {
+                        quiz = generator.generate(catalog, config);
+                    }
+                    if (!ready.offer(new Entry(quiz, catalog))) break;
+                }
+            } finally {
+                refilling.set(false);
+            }
+            return null;
+        }, null, null);
+    }
+
+    /**
+     * Records how long it took from asking for a quiz until its first question was drawn.
+     *
+     * @param hot    true if the quiz came from the queue, false if it waited for the catalog
+     * @param millis the elapsed time in milliseconds
+     */
+    public void recordTimeToFirstQuestion(boolean hot, long millis) {
+        Metrics.getInstance().recordNanos(hot ? HOT_STARTS : COLD_STARTS, millis * 1_000_000L);
+        Log.i(TAG, "Time to first question: " + millis + " ms (" + (hot ? "hot" : "cold") + "); "
+                + describeMetrics());
+    }
+
+    /**
+     * Returns a one-line summary of time-to-first-question for both start paths.
+     *
+     * @return the metrics summary
+     */
+    public String describeMetrics() {
+        return describe("hot", HOT_STARTS) + "; " + describe("cold", COLD_STARTS) + "; ready=" + ready.size();
+    }
+
+    private static String describe(String label, String histogram) {
+        LatencyHistogram starts = Metrics.getInstance().getLatencies(histogram);
+        return label + ": starts=" + starts.getCount()
+                + " p50Ms=" + starts.getPercentile(50) / 1_000_000
+                + " maxMs=" + starts.getMax() / 1_000_000;
+    }
+}
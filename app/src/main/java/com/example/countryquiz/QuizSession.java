@@ -0,0 +1,180 @@
+package com.example.countryquiz;
+
+/*
+ * Android libraries for saved-state bundles and logging.
+ * AndroidX lifecycle libraries for the activity-scoped ViewModel and its saved state.
+ */
+import android.app.Application;
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.SavedStateHandle;
+
+import java.util.List;
+
+/**
+ * Activity-scoped holder of the quiz being played in {@link QuizActivity}.
+ * <p>
+ * The quiz survives configuration changes in memory. For process death it is written
+ * to the {@link SavedStateHandle} in a compact form (the seed, plus country positions,
+ * option continent ids and picks as int arrays) and rebuilt against the catalog with
+ * {@link #restore(CountryCatalog)}, so it is never regenerated. The session also owns
+ * the {@link AnswerLog}, whose pending events are saved the same way.
+ */
+public class QuizSession extends AndroidViewModel {
+    private static final String TAG = "QuizSession";
+
+    private static final String STATE_SESSION_ID = "session.id";
+    private static final String STATE_RESULT_STORED = "session.resultStored";
+    private static final String STATE_QUIZ = "session.quiz";
+    private static final String STATE_ANSWERS = "session.answers";
+
+    // Keys inside the STATE_QUIZ bundle
+    private static final String QUIZ_QUESTION_COUNT = "questionCount";
+    private static final String QUIZ_OPTION_COUNT = "optionCount";
+    private static final String QUIZ_SEED = "seed";
+    private static final String QUIZ_COUNTRIES = "countries";
+    private static final String QUIZ_OPTIONS = "options";
+    private static final String QUIZ_CHOICES = "choices";
+
+    private final SavedStateHandle state;
+    private final MutableLiveData<Quiz> quiz = new MutableLiveData<>();
+    private final AnswerLog answerLog;
+
+    /**
+     * Constructs the session, restoring its id and pending answers from saved state.
+     * Called by the default ViewModel factory.
+     *
+     * @param application the application, used to reach the database
+     * @param state       the saved state of the hosting activity
+     */
+    public QuizSession(@NonNull Application application, @NonNull SavedStateHandle state) {
+        super(application);
+        this.state = state;
+
+        Long sessionId = state.get(STATE_SESSION_ID);
+        if (sessionId == null) {
+            sessionId = System.currentTimeMillis();
+            state.set(STATE_SESSION_ID, sessionId);
+        }
+        answerLog = new AnswerLog(application, sessionId);
+        answerLog.restoreState(state.get(STATE_ANSWERS));
+
+        // Serialized lazily, only when the activity actually saves its state
+        state.setSavedStateProvider(STATE_QUIZ, this::saveQuiz);
+        state.setSavedStateProvider(STATE_ANSWERS, () -> {
+            Bundle out = new Bundle();
+            answerLog.saveState(out);
+            return out;
+        });
+    }
+
+    /**
+     * Returns the quiz being played; empty until {@link #start} or {@link #restore} succeeds.
+     *
+     * @return the observable quiz
+     */
+    public LiveData<Quiz> getQuiz() {
+        return quiz;
+    }
+
+    /**
+     * Returns the id answers and results of this session are stored under.
+     *
+     * @return the session id
+     */
+    public long getSessionId() {
+        Long sessionId = state.get(STATE_SESSION_ID);
+        return sessionId != null ? sessionId : 0;
+    }
+
+    /**
+     * Returns the buffer that records this session's answers.
+     *
+     * @return the answer log
+     */
+    public AnswerLog getAnswerLog() {
+        return answerLog;
+    }
+
+    /**
+     * Starts playing a newly generated quiz. Must be called on the main thread.
+     *
+     * @param newQuiz the quiz, freshly generated or taken from the {@link QuizPrefetcher}
+     */
+    public void start(Quiz newQuiz) {
+        quiz.setValue(newQuiz);
+    }
+
+    /**
+     * Rebuilds the quiz saved before process death, if there is one. Must be called on
+     * the main thread.
+     *
+     * @param catalog the shared country catalog
+     * @return true if a saved quiz was restored
+     */
+    public boolean restore(CountryCatalog catalog) {
+        Bundle saved = state.get(STATE_QUIZ);
+        if (saved == null || !saved.containsKey(QUIZ_COUNTRIES)) return false;
+        try {
+            QuizConfig config = new QuizConfig(saved.getInt(QUIZ_QUESTION_COUNT), saved.getInt(QUIZ_OPTION_COUNT));
+            quiz.setValue(new Quiz(catalog, config, saved.getLong(QUIZ_SEED),
+                    saved.getIntArray(QUIZ_COUNTRIES), saved.getIntArray(QUIZ_OPTIONS),
+                    saved.getIntArray(QUIZ_CHOICES)));
+            return true;
+        } catch (RuntimeException e) {
+            // The catalog no longer matches the saved positions; start over instead
+            Log.w(TAG, "Discarding saved quiz", e);
+            return false;
+        }
+    }
+
+    /**
+     * Marks the result as stored, so it is saved once per session even across restarts.
+     *
+     * @return true if this is the first call for this session
+     */
+    public boolean markResultStored() {
+        if (Boolean.TRUE.equals(state.get(STATE_RESULT_STORED))) return false;
+        state.set(STATE_RESULT_STORED, true);
+        return true;
+    }
+
+    /**
+     * Hands any buffered answers to the database once the session is finished.
+     */
+    @Override
+    protected void onCleared() {
+        answerLog.flush();
+    }
+
+    /**
+     * Writes the current quiz into a bundle of int arrays.
+     *
+     * @return the compact quiz state; empty if no quiz has been started
+     */
+    @NonNull
+    private Bundle saveQuiz() {
+        Bundle out = new Bundle();
+        Quiz current = quiz.getValue();
+        if (current == null) return out;
+
+        List<Question> questions = current.getQuestions();
+        int[] choices = new int[questions.size()];
+        for (int i = 0; i < choices.length; i++) {
+            choices[i] = questions.get(i).getUserChoice();
+        }
+
+        out.putInt(QUIZ_QUESTION_COUNT, current.getConfig().getQuestionCount());
+        out.putInt(QUIZ_OPTION_COUNT, current.getConfig().getOptionCount());
+        out.putLong(QUIZ_SEED, current.getSeed());
+        out.putIntArray(QUIZ_COUNTRIES, current.getCountryIndices());
+        out.putIntArray(QUIZ_OPTIONS, current.getOptionIds());
+        out.putIntArray(QUIZ_CHOICES, choices);
+        return out;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.countryquiz;
+
+/**
+ * One preformatted row of the result breakdown. Built off the main thread, so binding
+ * a row only sets its text.
+ */
+public final class ResultLine {
+    private final int questionIndex;
+    private final String text;
+
+    /**
+     * Constructs a ResultLine.
+     *
+     * @param questionIndex the position of the question in the quiz, used as the stable id
+     * @param text          the formatted line
+     */
+    public ResultLine(int questionIndex, String text) {
+        this.questionIndex = questionIndex;
+        this.text = text;
+    }
+
+    /**
+     * Returns the position of the question in the quiz.
+     *
+     * @return the question index
+     */
+    public int getQuestionIndex() {
+        return questionIndex;
+    }
+
+    /**
+     * Returns the formatted line.
+     *
+     * @return the line text
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ResultLine)) return false;
+        ResultLine other = (ResultLine) o;
+        return questionIndex == other.questionIndex && text.equals(other.text);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * questionIndex + text.hashCode();
+    }
+}
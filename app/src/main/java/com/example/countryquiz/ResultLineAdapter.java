@@ -0,0 +1,73 @@
+package com.example.countryquiz;
+
+/*
+ * Android and Jetpack libraries for binding result rows into recycled views, with
+ * list updates diffed in the background.
+ */
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * RecyclerView adapter for the result breakdown. Lines arrive preformatted through
+ * {@link #submitList}, which diffs them against the current list on a background
+ * thread, so changing one answer rebinds only its row. Ids are the question indices.
+ */
+public class ResultLineAdapter extends ListAdapter<ResultLine, ResultLineAdapter.ViewHolder> {
+
+    private static final DiffUtil.ItemCallback<ResultLine> DIFF = new DiffUtil.ItemCallback<ResultLine>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull ResultLine oldItem, @NonNull ResultLine newItem) {
+            return oldItem.getQuestionIndex() == newItem.getQuestionIndex();
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull ResultLine oldItem, @NonNull ResultLine newItem) {
+            return oldItem.equals(newItem);
+        }
+    };
+
+    /**
+     * Constructs the adapter with stable ids taken from the question indices.
+     */
+    public ResultLineAdapter() {
+        super(DIFF);
+        setHasStableIds(true);
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_result_line, parent, false);
+        return new ViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        holder.text.setText(getItem(position).getText());
+    }
+
+    @Override
+    public long getItemId(int position) {
+        return getItem(position).getQuestionIndex();
+    }
+
+    /**
+     * Holds the single text view of a result row.
+     */
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final TextView text;
+
+        ViewHolder(View itemView) {
+            super(itemView);
+            text = itemView.findViewById(R.id.resultLine);
+        }
+    }
+}
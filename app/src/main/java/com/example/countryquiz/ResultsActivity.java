@@ -2,28 +2,39 @@ package com.example.countryquiz;
 
 /*
  * Android and Jetpack libraries for activity lifecycle,
- * ListView population, and database access.
+ * RecyclerView paging, and database access.
  */
 import android.os.Bundle;
-import android.widget.ArrayAdapter;
-import android.widget.ListView;
+import android.widget.TextView;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import java.util.List;
 
 /**
- * Activity that displays a list of all past quiz results
- * stored in the SQLite database.
+ * Activity that displays past quiz results stored in the SQLite database.
+ * History is loaded a page at a time off the main thread as the user scrolls,
+ * and the summary line comes from aggregate queries.
  */
 public class ResultsActivity extends AppCompatActivity {
 
-    ListView resultsListView;
+    private static final int PAGE_SIZE = 50;
+    // Start loading the next page when this many rows remain below the last visible one
+    private static final int PREFETCH_DISTANCE = 15;
+
+    RecyclerView resultsList;
+    TextView statsText;
+    QuizHistoryAdapter adapter;
     CountryQuizData quizData;
+    boolean loading = false;
+    boolean endReached = false;
 
     /**
-     * Called when the activity is created. Initializes the ListView,
-     * opens the database, retrieves quiz results, and displays them.
+     * Called when the activity is created. Sets up the RecyclerView and starts loading
+     * the statistics and the first page of results in the background.
      *
      * @param savedInstanceState the saved state of the activity
      */
@@ -32,27 +43,69 @@ public class ResultsActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_results);
 
-        resultsListView = findViewById(R.id.resultsListView);
+        statsText = findViewById(R.id.statsText);
+        resultsList = findViewById(R.id.resultsList);
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        resultsList.setLayoutManager(layoutManager);
+        adapter = new QuizHistoryAdapter();
+        resultsList.setAdapter(adapter);
+
+        resultsList.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int lastVisible = layoutManager.findLastVisibleItemPosition();
+                if (lastVisible >= adapter.getItemCount() - PREFETCH_DISTANCE) {
+                    loadNextPage();
+                }
+            }
+        });
+
         quizData = new CountryQuizData(this);
-        quizData.open();
+        long now = System.currentTimeMillis();
+        TaskScheduler.getInstance().read(TaskScheduler.Priority.NORMAL, () -> {
+            quizData.open();
+            return quizData.getQuizStats(now);
+        }, this, this::showStats);
 
-        List<String> results = quizData.getPastQuizResults();
+        loadNextPage();
+    }
 
-        ArrayAdapter<String> adapter = new ArrayAdapter<>(
-                this,
-                android.R.layout.simple_list_item_1,
-                results
-        );
+    /**
+     * Loads the page after the last result shown, unless a load is already running
+     * or the end of the history has been reached.
+     */
+    private void loadNextPage() {
+        if (loading || endReached) return;
+        loading = true;
 
-        resultsListView.setAdapter(adapter);
+        QuizResult last = adapter.getLastResult();
+        long beforeTimestamp = last != null ? last.getTimestamp() : Long.MAX_VALUE;
+        long beforeId = last != null ? last.getId() : Long.MAX_VALUE;
+        TaskScheduler.getInstance().read(TaskScheduler.Priority.HIGH, () -> {
+            quizData.open();
+            return quizData.getQuizResultsPage(beforeTimestamp, beforeId, PAGE_SIZE);
+        }, this, this::onPageLoaded);
     }
 
     /**
-     * Closes the database when the activity is destroyed.
+     * Appends a loaded page; a short page means the end of the history.
+     *
+     * @param page the loaded results
      */
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        quizData.close();
+    private void onPageLoaded(List<QuizResult> page) {
+        loading = false;
+        endReached = page.size() < PAGE_SIZE;
+        adapter.appendPage(page);
+    }
+
+    /**
+     * Shows the aggregated statistics above the list.
+     *
+     * @param stats the history statistics
+     */
+    private void showStats(QuizStats stats) {
+        statsText.setText(getString(R.string.history_stats, stats.getQuizCount(),
+                stats.getBestPercent(), stats.getAveragePercent(),
+                stats.getCurrentStreakDays(), stats.getLongestStreakDays()));
     }
-}
\ No newline at end of file
+}
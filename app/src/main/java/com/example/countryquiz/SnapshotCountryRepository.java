@@ -0,0 +1,89 @@
+package com.example.countryquiz;
+
+/*
+ * Android asset access and Java NIO libraries for memory-mapping the snapshot.
+ */
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.content.res.AssetManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.List;
+
+/**
+ * CountryRepository backed by the prebuilt binary snapshot in the assets folder.
+ * The snapshot is memory-mapped when the asset is stored uncompressed, and read
+ * in a single pass otherwise.
+ */
+public class SnapshotCountryRepository implements CountryRepository {
+
+    static final String SNAPSHOT_ASSET = "country_continent.bin";
+
+    private final CountrySnapshot snapshot;
+
+    private SnapshotCountryRepository(CountrySnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    /**
+     * Opens the snapshot shipped with the app.
+     *
+     * @param context any context, used to reach the assets
+     * @return the repository
+     * @throws IOException if the snapshot is missing or invalid
+     */
+    public static SnapshotCountryRepository open(Context context) throws IOException {
+        return new SnapshotCountryRepository(CountrySnapshot.wrap(load(context.getAssets())));
+    }
+
+    /**
+     * Returns every country in the snapshot.
+     *
+     * @return a list of Country objects
+     */
+    @Override
+    public List<Country> getAllCountries() {
+        return snapshot.toCountries();
+    }
+
+    /**
+     * Builds the catalog straight from the snapshot's records and continent dictionary.
+     *
+     * @return a new catalog
+     */
+    @Override
+    public CountryCatalog loadCatalog() {
+        return snapshot.toCatalog();
+    }
+
+    /**
+     * Maps the snapshot asset into memory, falling back to one full read
+     * when the asset is compressed inside the APK.
+     *
+     * @param assets the asset manager
+     * @return a buffer holding the snapshot
+     * @throws IOException if the asset cannot be read
+     */
+    private static ByteBuffer load(AssetManager assets) throws IOException {
+        try (AssetFileDescriptor fd = assets.openFd(SNAPSHOT_ASSET);
+             FileInputStream in = fd.createInputStream()) {
+            return in.getChannel().map(FileChannel.MapMode.READ_ONLY, fd.getStartOffset(), fd.getLength());
+        } catch (FileNotFoundException compressed) {
+            try (InputStream in = assets.open(SNAPSHOT_ASSET)) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+                byte[] buffer = new byte[8192];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, n);
+                }
+                return ByteBuffer.wrap(out.toByteArray());
+            }
+        }
+    }
+}
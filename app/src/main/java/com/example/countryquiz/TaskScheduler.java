@@ -0,0 +1,287 @@
+package com.example.countryquiz;
+
+/*
+ * Android libraries for main-thread delivery, thread priorities and logging.
+ * AndroidX lifecycle libraries for cancelling work when its owner is destroyed.
+ * Java concurrency utilities for the prioritized executors and metrics.
+ */
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * App-wide background task scheduler replacing AsyncTask.
+ * <p>
+ * Work runs on one of two lanes: a single database writer thread, so writes never
+ * contend with each other, and a small pool for reads. Each lane orders its queue by
+ * {@link Priority} (FIFO within a priority). Tasks bound to a {@link LifecycleOwner}
+ * are cancelled when the owner is destroyed, and results are delivered on the main
+ * thread. Each lane keeps queue-depth and wait-time metrics.
+ */
+public final class TaskScheduler {
+    private static final String TAG = "TaskScheduler";
+
+    /**
+     * Queue priority of a task within its lane.
+     */
+    public enum Priority {
+        /** Work the user is waiting on, such as loading the catalog for a quiz. */
+        HIGH,
+        /** Regular background work, such as the CSV import. */
+        NORMAL,
+        /** Work nobody is waiting on, such as writing quiz history. */
+        LOW
+    }
+
+    /**
+     * Receives the result of a task on the main thread.
+     *
+     * @param <T> the result type
+     */
+    public interface Callback<T> {
+        /**
+         * Called on the main thread once the task has completed without being cancelled.
+         *
+         * @param result the value returned by the task
+         */
+        void onResult(T result);
+    }
+
+    private static TaskScheduler instance;
+
+    private final Lane writeLane;
+    private final Lane readLane;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Private constructor to enforce singleton pattern.
+     */
+    private TaskScheduler() {
+        int readers = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        writeLane = new Lane("db-writer", 1);
+        readLane = new Lane("db-reader", readers);
+    }
+
+    /**
+     * Gets the singleton instance of the scheduler.
+     *
+     * @return the TaskScheduler instance
+     */
+    public static synchronized TaskScheduler getInstance() {
+        if (instance == null) {
+            instance = new TaskScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Queues a task that writes to the database on the single writer thread.
+     *
+     * @param priority the queue priority
+     * @param work     the work to run in the background
+     * @param owner    the owner whose destruction cancels the task, or null to always run it
+     * @param callback receives the result on the main thread, or null
+     * @param <T>      the result type
+     * @return the queued task, which can be cancelled
+     */
+    public <T> FutureTask<T> write(Priority priority, Callable<T> work,
+                                   @Nullable LifecycleOwner owner, @Nullable Callback<T> callback) {
+        return writeLane.enqueue(priority, work, owner, callback);
+    }
+
+    /**
+     * Queues a read-only task on the reader pool.
+     *
+     * @param priority the queue priority
+     * @param work     the work to run in the background
+     * @param owner    the owner whose destruction cancels the task, or null to always run it
+     * @param callback receives the result on the main thread, or null
+     * @param <T>      the result type
+     * @return the queued task, which can be cancelled
+     */
+    public <T> FutureTask<T> read(Priority priority, Callable<T> work,
+                                  @Nullable LifecycleOwner owner, @Nullable Callback<T> callback) {
+        return readLane.enqueue(priority, work, owner, callback);
+    }
+
+    /**
+     * Returns the number of tasks waiting for the writer thread.
+     *
+     * @return the write queue depth
+     */
+    public int getWriteQueueDepth() {
+        return writeLane.executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of tasks waiting for a reader thread.
+     *
+     * @return the read queue depth
+     */
+    public int getReadQueueDepth() {
+        return readLane.executor.getQueue().size();
+    }
+
+    /**
+     * Returns a one-line summary of queue depths and wait times for both lanes.
+     *
+     * @return the metrics summary
+     */
+    public String describeMetrics() {
+        return writeLane.describe() + "; " + readLane.describe();
+    }
+
+    /**
+     * One prioritized executor together with its wait-time metrics.
+     */
+    private final class Lane {
+        final String name;
+        final ThreadPoolExecutor executor;
+        final AtomicLong started = new AtomicLong();
+        final AtomicLong totalWaitNanos = new AtomicLong();
+        final AtomicLong maxWaitNanos = new AtomicLong();
+
+        Lane(String name, int threads) {
+            this.name = name;
+            AtomicInteger count = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new PriorityBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(() -> {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            runnable.run();
+                        }, name + "-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        <T> FutureTask<T> enqueue(Priority priority, Callable<T> work,
+                                  @Nullable LifecycleOwner owner, @Nullable Callback<T> callback) {
+            Task<T> task = new Task<>(this, priority, sequence.getAndIncrement(), work, callback);
+            if (owner != null) {
+                task.bindTo(owner);
+            }
+            executor.execute(task);
+            return task;
+        }
+
+        void recordWait(long waitNanos) {
+            started.incrementAndGet();
+            totalWaitNanos.addAndGet(waitNanos);
+            long max;
+            do {
+                max = maxWaitNanos.get();
+            } while (waitNanos > max && !maxWaitNanos.compareAndSet(max, waitNanos));
+        }
+
+        String describe() {
+            long count = started.get();
+            long averageMicros = count == 0 ? 0 : totalWaitNanos.get() / count / 1000;
+            return name + ": queued=" + executor.getQueue().size()
+                    + " active=" + executor.getActiveCount()
+                    + " started=" + count
+                    + " avgWaitUs=" + averageMicros
+                    + " maxWaitUs=" + maxWaitNanos.get() / 1000;
+        }
+    }
+
+    /**
+     * A queued unit of work ordered by priority, then by submission order.
+     *
+     * @param <T> the result type
+     */
+    private final class Task<T> extends FutureTask<T> implements Comparable<Task<?>> {
+        private final Lane lane;
+        private final Priority priority;
+        private final long seq;
+        private final long enqueuedAt = System.nanoTime();
+        @Nullable private final Callback<T> callback;
+        @Nullable private LifecycleOwner owner;
+        @Nullable private LifecycleEventObserver observer;
+
+        Task(Lane lane, Priority priority, long seq, Callable<T> work, @Nullable Callback<T> callback) {
+            super(work);
+            this.lane = lane;
+            this.priority = priority;
+            this.seq = seq;
+            this.callback = callback;
+        }
+
+        /**
+         * Cancels this task when the owner is destroyed. Must be called on the main thread.
+         */
+        void bindTo(LifecycleOwner owner) {
+            if (owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+                cancel(true);
+                return;
+            }
+            this.owner = owner;
+            observer = (source, event) -> {
+                if (event == Lifecycle.Event.ON_DESTROY) {
+                    cancel(true);
+                }
+            };
+            owner.getLifecycle().addObserver(observer);
+        }
+
+        @Override
+        public void run() {
+            if (!isCancelled()) {
+                lane.recordWait(System.nanoTime() - enqueuedAt);
+            }
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            if (callback == null && observer == null) {
+                // Fire-and-forget: nothing to hand to the main thread, only a failure to log
+                deliver();
+                return;
+            }
+            mainHandler.post(() -> {
+                if (owner != null && observer != null) {
+                    owner.getLifecycle().removeObserver(observer);
+                }
+                deliver();
+            });
+        }
+
+        private void deliver() {
+            if (isCancelled()) return;
+            try {
+                T result = get();
+                if (callback != null) callback.onResult(result);
+            } catch (ExecutionException e) {
+                Log.e(TAG, "Background task failed", e.getCause());
+            } catch (InterruptedException | CancellationException ignored) {
+                // Cancelled between the check and get(); nothing to deliver
+            }
+        }
+
+        @Override
+        public int compareTo(@NonNull Task<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(seq, other.seq);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.countryquiz;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Upgrades seeded databases from older schema versions and checks that history
+ * survives and the result matches a freshly created database.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class CountryQuizDBHelperMigrationTest {
+    private static final String UPGRADED_DB = "migration-upgraded.db";
+    private static final String FRESH_DB = "migration-fresh.db";
+
+    private final Context context = ApplicationProvider.getApplicationContext();
+    private final List<CountryQuizDBHelper> helpers = new ArrayList<>();
+
+    @After
+    public void deleteDatabases() {
+        for (CountryQuizDBHelper helper : helpers) {
+            helper.close();
+        }
+        context.deleteDatabase(UPGRADED_DB);
+        context.deleteDatabase(FRESH_DB);
+    }
+
+    private SQLiteDatabase open(String name) {
+        CountryQuizDBHelper helper = new CountryQuizDBHelper(context, name);
+        helpers.add(helper);
+        return helper.getWritableDatabase();
+    }
+
+    /**
+     * Writes a database with the original version 1 schema and two quiz results.
+     */
+    private void seedVersion1() {
+        SQLiteDatabase db = SQLiteDatabase.openOrCreateDatabase(context.getDatabasePath(UPGRADED_DB), null);
+        db.execSQL("CREATE TABLE countries (_id INTEGER PRIMARY KEY AUTOINCREMENT, name TEXT, continent TEXT)");
+        db.execSQL("CREATE TABLE quizzes (_id INTEGER PRIMARY KEY AUTOINCREMENT, date TEXT, score INTEGER)");
+        db.execSQL("INSERT INTO countries (name, continent) VALUES ('Ghana', 'Africa')");
+        db.execSQL("INSERT INTO quizzes (date, score) VALUES ('2025-03-01 10:15', 4)");
+        db.execSQL("INSERT INTO quizzes (date, score) VALUES ('2025-03-02 18:40', 6)");
+        db.setVersion(1);
+        db.close();
+    }
+
+    private static List<String> schemaObjects(SQLiteDatabase db) {
+        List<String> names = new ArrayList<>();
+        Cursor cursor = db.rawQuery("SELECT type || ':' || name FROM sqlite_master"
+                + " WHERE name NOT LIKE 'sqlite_%' AND name != 'android_metadata' ORDER BY 1", null);
+        while (cursor.moveToNext()) {
+            names.add(cursor.getString(0));
+        }
+        cursor.close();
+        return names;
+    }
+
+    private static List<String> columns(SQLiteDatabase db, String table) {
+        List<String> names = new ArrayList<>();
+        Cursor cursor = db.rawQuery("PRAGMA table_info(" + table + ")", null);
+        while (cursor.moveToNext()) {
+            names.add(cursor.getString(cursor.getColumnIndexOrThrow("name")));
+        }
+        cursor.close();
+        Collections.sort(names);
+        return names;
+    }
+
+    @Test
+    public void migrations_coverEveryVersion() {
+        SQLiteDatabase db = open(FRESH_DB);
+        int version = db.getVersion();
+        assertEquals(version - 1, CountryQuizDBHelper.MIGRATIONS.length);
+        for (int i = 0; i < CountryQuizDBHelper.MIGRATIONS.length; i++) {
+            assertEquals(i + 1, CountryQuizDBHelper.MIGRATIONS[i].getFromVersion());
+        }
+    }
+
+    @Test
+    public void upgradeFromVersion1_keepsHistory() {
+        seedVersion1();
+        SQLiteDatabase db = open(UPGRADED_DB);
+
+        Cursor cursor = db.rawQuery("SELECT score, total, timestamp FROM quizzes ORDER BY timestamp", null);
+        assertEquals(2, cursor.getCount());
+        cursor.moveToFirst();
+        assertEquals(4, cursor.getInt(0));
+        assertEquals(6, cursor.getInt(1));
+        long first = cursor.getLong(2);
+        cursor.moveToNext();
+        assertEquals(6, cursor.getInt(0));
+        long second = cursor.getLong(2);
+        cursor.close();
+
+        // 2025-03-01 10:15 and 2025-03-02 18:40 are 32h25m apart in any time zone without DST changes
+        assertTrue(first > 0);
+        assertEquals((32 * 60 + 25) * 60_000L, second - first);
+
+        cursor = db.rawQuery("SELECT COUNT(*) FROM countries", null);
+        cursor.moveToFirst();
+        assertEquals(1, cursor.getInt(0));
+        cursor.close();
+    }
+
+    @Test
+    public void upgradeFromVersion1_matchesFreshSchema() {
+        seedVersion1();
+        SQLiteDatabase upgraded = open(UPGRADED_DB);
+        SQLiteDatabase fresh = open(FRESH_DB);
+
+        assertEquals(schemaObjects(fresh), schemaObjects(upgraded));
+        for (String table : new String[]{QuizSchema.TABLE_COUNTRIES,
+                QuizSchema.TABLE_QUIZZES, QuizSchema.TABLE_METADATA}) {
+            assertEquals(columns(fresh, table), columns(upgraded, table));
+        }
+    }
+
+    @Test
+    public void database_usesWriteAheadLogging() {
+        SQLiteDatabase db = open(FRESH_DB);
+        assertTrue(db.isWriteAheadLoggingEnabled());
+    }
+}
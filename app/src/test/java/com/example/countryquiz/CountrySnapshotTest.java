@@ -0,0 +1,101 @@
+package com.example.countryquiz;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the build-time binary snapshot and the CSV importer path
+ * produce identical country data.
+ */
+public class CountrySnapshotTest {
+
+    private static List<Country> readCsv() throws IOException {
+        try (InputStream in = new FileInputStream("src/main/assets/country_continent.csv")) {
+            return CountryCsvReader.readAll(in);
+        }
+    }
+
+    private static CountrySnapshot readSnapshot() throws IOException {
+        String path = System.getProperty("countryquiz.snapshot");
+        assertNotNull("countryquiz.snapshot system property not set", path);
+        return CountrySnapshot.wrap(ByteBuffer.wrap(Files.readAllBytes(Paths.get(path))));
+    }
+
+    @Test
+    public void snapshot_matchesCsv() throws IOException {
+        List<Country> fromCsv = readCsv();
+        List<Country> fromSnapshot = readSnapshot().toCountries();
+
+        assertEquals(fromCsv.size(), fromSnapshot.size());
+        for (int i = 0; i < fromCsv.size(); i++) {
+            assertEquals(fromCsv.get(i).getName(), fromSnapshot.get(i).getName());
+            assertEquals(fromCsv.get(i).getContinent(), fromSnapshot.get(i).getContinent());
+        }
+    }
+
+    @Test
+    public void toCatalog_matchesCsv() throws IOException {
+        List<Country> fromCsv = readCsv();
+        CountryCatalog catalog = readSnapshot().toCatalog();
+
+        assertEquals(fromCsv.size(), catalog.size());
+        for (int i = 0; i < fromCsv.size(); i++) {
+            assertEquals(fromCsv.get(i).getName(), catalog.getName(i));
+            assertEquals(fromCsv.get(i).getContinent(), catalog.getContinent(i));
+        }
+    }
+
+    @Test
+    public void toCatalog_continentIdsMatchCsvCatalog() throws IOException {
+        List<Country> countries = readCsv();
+        ContinentIndex fromCsv = new CountryCatalog(countries).getContinentIndex();
+        ContinentIndex fromSnapshot = readSnapshot().toCatalog().getContinentIndex();
+
+        assertEquals(fromCsv.getContinentCount(), fromSnapshot.getContinentCount());
+        for (int c = 0; c < fromCsv.getContinentCount(); c++) {
+            assertEquals(fromCsv.getContinent(c), fromSnapshot.getContinent(c));
+        }
+        for (int i = 0; i < countries.size(); i++) {
+            assertEquals(fromCsv.getContinentId(i), fromSnapshot.getContinentId(i));
+        }
+    }
+
+    @Test
+    public void snapshot_internsContinents() throws IOException {
+        CountrySnapshot snapshot = readSnapshot();
+        assertEquals(6, snapshot.getContinents().length);
+        assertSame(snapshot.getContinent(0), snapshot.getContinents()[snapshot.getContinentId(0)]);
+    }
+
+    @Test
+    public void write_roundTripsThroughWrap() throws IOException {
+        List<Country> countries = Arrays.asList(new Country("Peru", "South America"),
+                new Country("Côte d'Ivoire", "Africa"), new Country("Chile", "South America"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CountrySnapshot.write(countries, out);
+
+        CountrySnapshot snapshot = CountrySnapshot.wrap(ByteBuffer.wrap(out.toByteArray()));
+        assertEquals(Arrays.asList("Africa", "South America"), Arrays.asList(snapshot.getContinents()));
+        assertEquals(3, snapshot.size());
+        assertEquals("Côte d'Ivoire", snapshot.getName(1));
+        assertEquals("Africa", snapshot.getContinent(1));
+        assertEquals("Chile", snapshot.getName(2));
+        assertEquals("South America", snapshot.getContinent(2));
+    }
+
+    @Test(expected = IOException.class)
+    public void wrap_rejectsForeignData() throws IOException {
+        CountrySnapshot.wrap(ByteBuffer.wrap(new byte[]{'n', 'o', 'p', 'e', 0, 0, 0, 1}));
+    }
+}
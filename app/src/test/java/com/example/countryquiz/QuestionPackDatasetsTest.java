@@ -0,0 +1,46 @@
+package com.example.countryquiz;
+
+import org.junit.Test;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * Checks that every shipped question pack loads and asks about the same countries.
+ */
+public class QuestionPackDatasetsTest {
+
+    private static CountryCatalog load(QuestionPack pack) throws IOException {
+        return new CsvQuestionSource(pack, name -> new FileInputStream("src/main/assets/" + name)).load();
+    }
+
+    @Test
+    public void packs_coverTheSameCountries() throws IOException {
+        CountryCatalog continents = load(QuestionPack.CONTINENTS);
+        for (QuestionPack pack : QuestionPack.all()) {
+            CountryCatalog catalog = load(pack);
+            assertEquals(pack.getId(), continents.size(), catalog.size());
+            for (int i = 0; i < catalog.size(); i++) {
+                assertEquals(pack.getId(), continents.get(i).getName(), catalog.get(i).getName());
+            }
+            assertTrue(pack.getId(), catalog.getContinentIndex().getContinentCount()
+                    >= QuizConfig.DEFAULT.getOptionCount());
+        }
+    }
+
+    @Test
+    public void packs_keepQuotedAnswers() throws IOException {
+        CountryCatalog capitals = load(QuestionPack.CAPITALS);
+        int usa = capitals.indexOf("United States of America");
+        assertEquals("Washington, D.C.", capitals.get(usa).getContinent());
+    }
+
+    @Test
+    public void forId_fallsBackToContinents() {
+        assertSame(QuestionPack.REGIONS, QuestionPack.forId("regions"));
+        assertSame(QuestionPack.CONTINENTS, QuestionPack.forId(null));
+        assertEquals("What is the capital of Peru?", QuestionPack.CAPITALS.prompt("Peru"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.countryquiz.benchmark;
+
+import com.example.countryquiz.Country;
+import com.example.countryquiz.CountryCatalog;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixtures shared by the benchmarks: synthetic catalogs and the shipped country CSV.
+ */
+final class BenchmarkData {
+
+    /** The continents of the shipped CSV, in the order the app first sees them. */
+    static final String[] CONTINENTS = {"Asia", "Europe", "Africa", "North America", "South America", "Oceania"};
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds a catalog of numbered countries spread round-robin over the six continents.
+     *
+     * @param size the number of countries
+     * @return the catalog
+     */
+    static CountryCatalog syntheticCatalog(int size) {
+        List<Country> countries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            countries.add(new Country("Country " + i, CONTINENTS[i % CONTINENTS.length]));
+        }
+        return new CountryCatalog(countries);
+    }
+
+    /**
+     * Reads the shipped country CSV, located through the {@code countryquiz.csv} system
+     * property, and repeats it to simulate larger files.
+     *
+     * @param copies how many times to repeat the file
+     * @return the CSV bytes
+     * @throws IOException if the CSV cannot be read
+     */
+    static byte[] countryCsv(int copies) throws IOException {
+        String path = System.getProperty("countryquiz.csv", "../app/src/main/assets/country_continent.csv");
+        byte[] csv = Files.readAllBytes(Paths.get(path));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(csv.length * copies);
+        for (int i = 0; i < copies; i++) {
+            out.write(csv, 0, csv.length);
+            if (csv.length > 0 && csv[csv.length - 1] != '\n') out.write('\n');
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.countryquiz.benchmark;
+
+import com.example.countryquiz.Country;
+import com.example.countryquiz.CountryCsvReader;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing {@code country_continent.csv}: the streaming {@link CountryCsvReader} the app
+ * uses against the OpenCSV reader it replaced and two hand-written lower bounds. The
+ * file has no quoted fields, so the lower bounds only split on the first comma; they
+ * are not drop-in replacements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CsvParseBenchmark {
+
+    /** 1 is the shipped file (194 rows); larger values repeat it. */
+    @Param({"1", "100"})
+    public int copies;
+
+    private byte[] csv;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csv = BenchmarkData.countryCsv(copies);
+    }
+
+    /** What the importer does today: chunked byte scan with quoting and interned continents. */
+    @Benchmark
+    public List<Country> streamingReader() throws IOException {
+        return CountryCsvReader.readAll(new ByteArrayInputStream(csv));
+    }
+
+    /** The OpenCSV reader the importer used before. */
+    @Benchmark
+    public List<Country> openCsv() throws IOException, CsvValidationException {
+        List<Country> countries = new ArrayList<>();
+        CSVReader reader = new CSVReader(new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8));
+        String[] row;
+        while ((row = reader.readNext()) != null) {
+            countries.add(new Country(row[0].trim(), row[1].trim()));
+        }
+        return countries;
+    }
+
+    /** BufferedReader lines split at the first comma. */
+    @Benchmark
+    public List<Country> bufferedReaderSplit() throws IOException {
+        List<Country> countries = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int comma = line.indexOf(',');
+            if (comma < 0) continue;
+            countries.add(new Country(line.substring(0, comma).trim(), line.substring(comma + 1).trim()));
+        }
+        return countries;
+    }
+
+    /**
+     * Single pass over the raw bytes, decoding each field once and sharing one String
+     * per distinct continent.
+     */
+    @Benchmark
+    public List<Country> byteScanInterned() {
+        List<Country> countries = new ArrayList<>();
+        Map<String, String> continents = new HashMap<>();
+        int lineStart = 0;
+        int comma = -1;
+        for (int i = 0; i <= csv.length; i++) {
+            byte b = i < csv.length ? csv[i] : (byte) '\n';
+            if (b == ',' && comma < 0) {
+                comma = i;
+            } else if (b == '\n') {
+                int end = i > lineStart && csv[i - 1] == '\r' ? i - 1 : i;
+                if (comma > lineStart) {
+                    String name = new String(csv, lineStart, comma - lineStart, StandardCharsets.UTF_8).trim();
+                    String continent = new String(csv, comma + 1, end - comma - 1, StandardCharsets.UTF_8).trim();
+                    String shared = continents.putIfAbsent(continent, continent);
+                    countries.add(new Country(name, shared != null ? shared : continent));
+                }
+                lineStart = i + 1;
+                comma = -1;
+            }
+        }
+        return countries;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.countryquiz.benchmark;
+
+import com.example.countryquiz.AdaptiveQuizGenerator;
+import com.example.countryquiz.CountryCatalog;
+import com.example.countryquiz.DifficultyModel;
+import com.example.countryquiz.Question;
+import com.example.countryquiz.Quiz;
+import com.example.countryquiz.QuizConfig;
+import com.example.countryquiz.QuizGenerator;
+import com.example.countryquiz.UniformQuizGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quiz and question generation over catalogs from the shipped size up to a million
+ * countries. Uniform generation only touches the sampled positions and adaptive
+ * generation walks a Fenwick tree, so both scores should stay flat (adaptive growing
+ * with log n) as the catalog grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class QuizBenchmark {
+
+    @Param({"200", "10000", "1000000"})
+    public int catalogSize;
+
+    @Param({"3", "6"})
+    public int optionCount;
+
+    private final QuizGenerator generator = new UniformQuizGenerator();
+    private AdaptiveQuizGenerator adaptive;
+    private DifficultyModel model;
+    private CountryCatalog catalog;
+    private QuizConfig shortQuiz;
+    private QuizConfig longQuiz;
+    private SplittableRandom random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = BenchmarkData.syntheticCatalog(catalogSize);
+        shortQuiz = new QuizConfig(QuizConfig.DEFAULT.getQuestionCount(), optionCount);
+        longQuiz = new QuizConfig(50, optionCount);
+        random = new SplittableRandom(42);
+
+        // A long answer history: every country asked a few times, some often missed
+        model = new DifficultyModel(catalog);
+        for (int i = 0; i < catalogSize; i++) {
+            int attempts = 1 + random.nextInt(20);
+            model.setCountryStats(i, attempts, random.nextInt(attempts + 1));
+        }
+        adaptive = new AdaptiveQuizGenerator(model);
+    }
+
+    /** The classic six-question quiz. */
+    @Benchmark
+    public Quiz newQuiz() {
+        return generator.generate(catalog, shortQuiz);
+    }
+
+    /** A long quiz, where sampling distinct countries dominates. */
+    @Benchmark
+    public Quiz newLongQuiz() {
+        return generator.generate(catalog, longQuiz);
+    }
+
+    /** The classic quiz, weighted by error rate and continent confusion. */
+    @Benchmark
+    public Quiz newAdaptiveQuiz() {
+        return adaptive.generate(catalog, shortQuiz);
+    }
+
+    /** Folding one answer into the statistics: an O(log n) tree update. */
+    @Benchmark
+    public DifficultyModel recordAnswer() {
+        int countryIndex = random.nextInt(catalogSize);
+        model.recordAnswer(countryIndex, random.nextInt(catalog.getContinentIndex().getContinentCount()));
+        return model;
+    }
+
+    /** One question: distractor sampling and option list construction. */
+    @Benchmark
+    public Question newQuestion() {
+        return new Question(catalog, random.nextInt(catalogSize), optionCount, random);
+    }
+}
@@ -0,0 +1,304 @@
+package com.example.countryquiz.benchmark;
+
+import com.example.countryquiz.Country;
+import com.example.countryquiz.CountryCsvReader;
+import com.example.countryquiz.QuizSchema;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The app's SQLite work on a desktop JVM, through sqlite-jdbc as a stand-in for the
+ * Android framework database: the country import, the history screen queries and
+ * the review due list.
+ * The schema comes from {@link QuizSchema}, as in the app, and the SQL mirrors
+ * CountryQuizData. Absolute numbers differ from a device; use them to compare query
+ * shapes and track regressions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SqliteBenchmark {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    /**
+     * Opens a WAL-mode database file in a temporary directory with the app's schema.
+     */
+    static Connection openDatabase(Path dir) throws SQLException {
+        Connection connection = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("countryquiz.db"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("PRAGMA journal_mode = WAL");
+            statement.execute("PRAGMA cache_size = -4096");
+            for (String sql : QuizSchema.createStatements()) {
+                statement.execute(sql);
+            }
+        }
+        return connection;
+    }
+
+    static void delete(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    /**
+     * An empty countries table and the parsed CSV, for timing the import.
+     */
+    @State(Scope.Thread)
+    public static class ImportState {
+        @Param({"1", "100"})
+        public int copies;
+
+        List<Country> countries;
+        Path dir;
+        Connection connection;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SQLException {
+            countries = CountryCsvReader.readAll(new ByteArrayInputStream(BenchmarkData.countryCsv(copies)));
+            dir = Files.createTempDirectory("countryquiz-import");
+            connection = openDatabase(dir);
+        }
+
+        @Setup(Level.Invocation)
+        public void clear() throws SQLException {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DELETE FROM countries");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException, SQLException {
+            connection.close();
+            delete(dir);
+        }
+    }
+
+    /**
+     * A quiz history of the given length, one quiz every few hours.
+     */
+    @State(Scope.Thread)
+    public static class HistoryState {
+        @Param({"1000", "100000"})
+        public int rows;
+
+        Path dir;
+        Connection connection;
+        PreparedStatement keysetPage;
+        PreparedStatement offsetPage;
+        long middleTimestamp;
+        long middleId;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SQLException {
+            dir = Files.createTempDirectory("countryquiz-history");
+            connection = openDatabase(dir);
+            connection.setAutoCommit(false);
+            Random random = new Random(42);
+            long start = 1_700_000_000_000L;
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO quizzes (score, total, timestamp, session_id) VALUES (?, 6, ?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    long timestamp = start + i * (DAY_MILLIS / 5) + random.nextInt(60_000);
+                    insert.setInt(1, random.nextInt(7));
+                    insert.setLong(2, timestamp);
+                    insert.setLong(3, timestamp);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+
+            keysetPage = connection.prepareStatement("SELECT _id, timestamp, score, total FROM quizzes"
+                    + " WHERE timestamp < ?1 OR (timestamp = ?1 AND _id < ?2)"
+                    + " ORDER BY timestamp DESC, _id DESC LIMIT 50");
+            offsetPage = connection.prepareStatement("SELECT _id, timestamp, score, total FROM quizzes"
+                    + " ORDER BY timestamp DESC, _id DESC LIMIT 50 OFFSET ?");
+
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT timestamp, _id FROM quizzes"
+                         + " ORDER BY timestamp DESC, _id DESC LIMIT 1 OFFSET " + rows / 2)) {
+                rs.next();
+                middleTimestamp = rs.getLong(1);
+                middleId = rs.getLong(2);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException, SQLException {
+            keysetPage.close();
+            offsetPage.close();
+            connection.close();
+            delete(dir);
+        }
+    }
+
+    /**
+     * A spaced-repetition schedule of the given size, with due times spread over a
+     * year around the query time, so about half the rows are due.
+     */
+    @State(Scope.Thread)
+    public static class ReviewState {
+        @Param({"200", "100000"})
+        public int rows;
+
+        Path dir;
+        Connection connection;
+        PreparedStatement dueRange;
+        long now;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, SQLException {
+            dir = Files.createTempDirectory("countryquiz-review");
+            connection = openDatabase(dir);
+            connection.setAutoCommit(false);
+            Random random = new Random(42);
+            now = 1_700_000_000_000L;
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO review_schedule"
+                    + " (country, ease, interval_days, repetitions, due) VALUES (?, 2.5, 1, 1, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    insert.setString(1, "Country " + i);
+                    insert.setLong(2, now + (random.nextInt(365) - 182) * DAY_MILLIS);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            connection.commit();
+            connection.setAutoCommit(true);
+
+            dueRange = connection.prepareStatement("SELECT country FROM review_schedule"
+                    + " WHERE due <= ? ORDER BY due LIMIT 6");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException, SQLException {
+            dueRange.close();
+            connection.close();
+            delete(dir);
+        }
+    }
+
+    /** The importer's path: one transaction, one reused prepared insert. */
+    @Benchmark
+    public void importInTransaction(ImportState state) throws SQLException {
+        Connection connection = state.connection;
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO countries (name, continent) VALUES (?, ?)")) {
+            for (Country country : state.countries) {
+                insert.setString(1, country.getName());
+                insert.setString(2, country.getContinent());
+                insert.executeUpdate();
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    /** The original importer's path: every insert commits on its own. */
+    @Benchmark
+    public void importRowByRow(ImportState state) throws SQLException {
+        try (PreparedStatement insert = state.connection.prepareStatement(
+                "INSERT INTO countries (name, continent) VALUES (?, ?)")) {
+            for (Country country : state.countries) {
+                insert.setString(1, country.getName());
+                insert.setString(2, country.getContinent());
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    /** First history page, as ResultsActivity loads it. */
+    @Benchmark
+    public void historyFirstPage(HistoryState state, Blackhole blackhole) throws SQLException {
+        state.keysetPage.setLong(1, Long.MAX_VALUE);
+        state.keysetPage.setLong(2, Long.MAX_VALUE);
+        drain(state.keysetPage, blackhole);
+    }
+
+    /** A page halfway down the history, reached by keyset. */
+    @Benchmark
+    public void historyDeepPageKeyset(HistoryState state, Blackhole blackhole) throws SQLException {
+        state.keysetPage.setLong(1, state.middleTimestamp);
+        state.keysetPage.setLong(2, state.middleId);
+        drain(state.keysetPage, blackhole);
+    }
+
+    /** The same page reached by OFFSET, for comparison with the keyset query. */
+    @Benchmark
+    public void historyDeepPageOffset(HistoryState state, Blackhole blackhole) throws SQLException {
+        state.offsetPage.setInt(1, state.rows / 2);
+        drain(state.offsetPage, blackhole);
+    }
+
+    /** The statistics header: SQL aggregates plus the distinct days for streaks. */
+    @Benchmark
+    public void historyStats(HistoryState state, Blackhole blackhole) throws SQLException {
+        try (Statement statement = state.connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("SELECT COUNT(*), MAX(100.0 * score / total),"
+                    + " AVG(100.0 * score / total) FROM quizzes")) {
+                rs.next();
+                blackhole.consume(rs.getInt(1));
+                blackhole.consume(rs.getDouble(2));
+                blackhole.consume(rs.getDouble(3));
+            }
+            try (ResultSet rs = statement.executeQuery("SELECT DISTINCT timestamp / " + DAY_MILLIS
+                    + " AS day FROM quizzes WHERE timestamp IS NOT NULL ORDER BY day DESC")) {
+                while (rs.next()) {
+                    blackhole.consume(rs.getLong(1));
+                }
+            }
+        }
+    }
+
+    /** The review quiz's due list: one range scan of the due index. */
+    @Benchmark
+    public void reviewDueCountries(ReviewState state, Blackhole blackhole) throws SQLException {
+        state.dueRange.setLong(1, state.now);
+        try (ResultSet rs = state.dueRange.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getString(1));
+            }
+        }
+    }
+
+    private static void drain(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong(1));
+                blackhole.consume(rs.getLong(2));
+                blackhole.consume(rs.getInt(3));
+                blackhole.consume(rs.getInt(4));
+            }
+        }
+    }
+}
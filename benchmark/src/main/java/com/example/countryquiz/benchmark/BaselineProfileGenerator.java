@@ -0,0 +1,44 @@
+package com.example.countryquiz.benchmark;
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import kotlin.Unit;
+
+/**
+ * Generates the app's baseline profile: the classes and methods run while starting the
+ * app, importing the CSV in the background, and opening and playing one quiz, which
+ * covers the question and result page inflation. Run with
+ * {@code ./gradlew :app:generateBaselineProfile}; the profile lands in
+ * {@code app/src/main/generated/baselineProfiles} and is checked in.
+ */
+public class BaselineProfileGenerator {
+
+    @Rule
+    public BaselineProfileRule rule = new BaselineProfileRule();
+
+    /**
+     * Startup alone, also written as the startup profile that orders the dex files.
+     */
+    @Test
+    public void startup() {
+        rule.collect(QuizJourney.PACKAGE, 15, 3, null, true, scope -> {
+            scope.pressHome();
+            scope.startActivityAndWait();
+            return Unit.INSTANCE;
+        });
+    }
+
+    @Test
+    public void playQuiz() {
+        rule.collect(QuizJourney.PACKAGE, scope -> {
+            scope.pressHome();
+            scope.startActivityAndWait();
+            QuizJourney.openQuiz(scope);
+            QuizJourney.answerAndSwipeThrough(scope);
+            return Unit.INSTANCE;
+        });
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.countryquiz.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.FrameTimingMetric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import kotlin.Unit;
+
+/**
+ * Starting and playing a quiz with the baseline profile installed: the time from tapping
+ * "Start quiz" to the first question being drawn, and frame timing while answering and
+ * swiping through the {@code QuizPagerAdapter} pages to the result.
+ */
+public class QuizBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    /**
+     * Measures the {@code QuizActivity.timeToFirstQuestion} async section, which runs
+     * from the tap to the first pre-draw of the pager, along with its generation and
+     * page creation sections.
+     */
+    @Test
+    public void timeToFirstQuestion() {
+        rule.measureRepeated(QuizJourney.PACKAGE,
+                Arrays.asList(
+                        new TraceSectionMetric("QuizActivity.timeToFirstQuestion"),
+                        new TraceSectionMetric("Quiz.generate"),
+                        new TraceSectionMetric("QuizPagerAdapter.createPage")),
+                new CompilationMode.Partial(BaselineProfileMode.Require), StartupMode.WARM, ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    QuizJourney.openQuiz(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+
+    @Test
+    public void swipeThroughQuiz() {
+        rule.measureRepeated(QuizJourney.PACKAGE,
+                Collections.singletonList(new FrameTimingMetric()),
+                new CompilationMode.Partial(BaselineProfileMode.Require), StartupMode.WARM, ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    scope.startActivityAndWait();
+                    QuizJourney.openQuiz(scope);
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    QuizJourney.answerAndSwipeThrough(scope);
+                    return Unit.INSTANCE;
+                });
+    }
+}
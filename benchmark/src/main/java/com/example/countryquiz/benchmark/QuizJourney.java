@@ -0,0 +1,59 @@
+package com.example.countryquiz.benchmark;
+
+import androidx.benchmark.macro.MacrobenchmarkScope;
+import androidx.test.uiautomator.By;
+import androidx.test.uiautomator.Direction;
+import androidx.test.uiautomator.UiDevice;
+import androidx.test.uiautomator.UiObject2;
+import androidx.test.uiautomator.Until;
+
+/**
+ * The user journeys shared by the macrobenchmarks and the baseline profile generator,
+ * driven through UI Automator against the installed app.
+ */
+final class QuizJourney {
+
+    /** Application id of the app under test. */
+    static final String PACKAGE = "com.example.countryquiz";
+
+    /** Questions in the default quiz; the result page follows them. */
+    static final int QUESTION_COUNT = 6;
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    private QuizJourney() {
+    }
+
+    /**
+     * Taps "Start quiz" on the start screen and waits for the first question.
+     *
+     * @param scope the running benchmark, with the start screen showing
+     */
+    static void openQuiz(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        device.wait(Until.hasObject(By.res(PACKAGE, "startQuizButton")), TIMEOUT_MS);
+        device.findObject(By.res(PACKAGE, "startQuizButton")).click();
+        if (!device.wait(Until.hasObject(By.res(PACKAGE, "questionText")), TIMEOUT_MS)) {
+            throw new AssertionError("First question not shown within " + TIMEOUT_MS + " ms");
+        }
+    }
+
+    /**
+     * Answers every question with its first option and swipes on to the next page,
+     * ending on the result page.
+     *
+     * @param scope the running benchmark, with the first question showing
+     */
+    static void answerAndSwipeThrough(MacrobenchmarkScope scope) {
+        UiDevice device = scope.getDevice();
+        UiObject2 pager = device.findObject(By.res(PACKAGE, "viewPager"));
+        // Keep the swipes clear of the system back gesture at the screen edges
+        pager.setGestureMargin(device.getDisplayWidth() / 5);
+        for (int i = 0; i < QUESTION_COUNT; i++) {
+            UiObject2 option = pager.findObject(By.clazz("android.widget.RadioButton"));
+            if (option != null) option.click();
+            pager.swipe(Direction.LEFT, 0.8f);
+            device.waitForIdle();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.countryquiz.benchmark;
+
+import androidx.benchmark.macro.BaselineProfileMode;
+import androidx.benchmark.macro.CompilationMode;
+import androidx.benchmark.macro.Metric;
+import androidx.benchmark.macro.StartupMode;
+import androidx.benchmark.macro.StartupTimingMetric;
+import androidx.benchmark.macro.TraceSectionMetric;
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+import java.util.List;
+
+import kotlin.Unit;
+
+/**
+ * Cold and warm start of {@code MainActivity}, once without AOT compilation and once
+ * with the baseline profile, so the profile's effect is visible side by side. Besides
+ * time to initial display, reports the app's own trace sections for the start screen
+ * and the background CSV import and catalog load it kicks off.
+ */
+@RunWith(Parameterized.class)
+public class StartupBenchmark {
+
+    private static final int ITERATIONS = 10;
+
+    @Rule
+    public MacrobenchmarkRule rule = new MacrobenchmarkRule();
+
+    @Parameterized.Parameter
+    public CompilationMode compilationMode;
+
+    @Parameterized.Parameters(name = "{0}")
+    public static List<CompilationMode> compilationModes() {
+        return Arrays.asList(
+                new CompilationMode.None(),
+                new CompilationMode.Partial(BaselineProfileMode.Require));
+    }
+
+    private static List<Metric> metrics() {
+        return Arrays.asList(
+                new StartupTimingMetric(),
+                new TraceSectionMetric("MainActivity.onCreate"),
+                new TraceSectionMetric("CountryLoaderTask.call"),
+                new TraceSectionMetric("CountryCatalogCache.load"));
+    }
+
+    @Test
+    public void coldStart() {
+        measureStart(StartupMode.COLD);
+    }
+
+    @Test
+    public void warmStart() {
+        measureStart(StartupMode.WARM);
+    }
+
+    private void measureStart(StartupMode startupMode) {
+        rule.measureRepeated(QuizJourney.PACKAGE, metrics(), compilationMode, startupMode, ITERATIONS,
+                scope -> {
+                    scope.pressHome();
+                    return Unit.INSTANCE;
+                },
+                scope -> {
+                    scope.startActivityAndWait();
+                    return Unit.INSTANCE;
+                });
+    }
+}
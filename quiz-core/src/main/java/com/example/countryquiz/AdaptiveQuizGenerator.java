@@ -0,0 +1,82 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility classes for list handling and seeded random sampling.
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Picks countries the player tends to get wrong, and distractors from the continents
+ * they tend to confuse, using the weights of a {@link DifficultyModel}.
+ * <p>
+ * Each country is drawn in O(log n) from the model's Fenwick tree, so generation stays
+ * flat as the catalog and the answer history grow. Until a model for the catalog being
+ * used is set, quizzes are generated uniformly instead.
+ * <p>
+ * A quiz depends on the model's statistics as well as its seed, so replaying a seed
+ * reproduces the quiz only while the statistics are unchanged. Thread-safe.
+ */
+public final class AdaptiveQuizGenerator implements QuizGenerator {
+    private final QuizGenerator fallback = new UniformQuizGenerator();
+    private volatile DifficultyModel model;
+
+    /**
+     * Constructs a generator that falls back to uniform picks until
+     * {@link #setModel(DifficultyModel)} is called.
+     */
+    public AdaptiveQuizGenerator() {
+    }
+
+    /**
+     * Constructs a generator weighted by the given model.
+     *
+     * @param model the answer statistics to follow
+     */
+    public AdaptiveQuizGenerator(DifficultyModel model) {
+        this.model = model;
+    }
+
+    /**
+     * Returns the model currently followed.
+     *
+     * @return the model, or null if none was set
+     */
+    public DifficultyModel getModel() {
+        return model;
+    }
+
+    /**
+     * Replaces the model, for example after the catalog was reloaded.
+     *
+     * @param model the answer statistics to follow
+     */
+    public void setModel(DifficultyModel model) {
+        this.model = model;
+    }
+
+    @Override
+    public Quiz generate(CountryCatalog catalog, QuizConfig config, long seed) {
+        DifficultyModel current = model;
+        if (current == null || current.getCatalog() != catalog) {
+            return fallback.generate(catalog, config, seed);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        ContinentIndex index = catalog.getContinentIndex();
+        int optionCount = Math.min(config.getOptionCount(), index.getContinentCount());
+
+        List<Question> questions = new ArrayList<>(config.getQuestionCount());
+        while (questions.size() < config.getQuestionCount()) {
+            int batch = Math.min(config.getQuestionCount() - questions.size(), catalog.size());
+            for (int countryIndex : current.sampleCountries(batch, random)) {
+                int correctId = index.getContinentId(countryIndex);
+                int[] wrongIds = current.sampleWrongContinents(correctId, optionCount - 1, random);
+                int[] optionIds = Question.withCorrectAt(wrongIds, correctId, random.nextInt(optionCount));
+                questions.add(new Question(catalog, countryIndex, optionIds));
+            }
+        }
+        return new Quiz(config, seed, questions);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility libraries for building the continent dictionary.
+ */
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Prebuilt index over a list of countries: continent names are interned into a
+ * dictionary of int ids, stored one per country, and country positions are grouped
+ * by continent in primitive int arrays. Every country on a continent shares the
+ * dictionary's String, so names are only looked up when shown. Packs keep their
+ * answers in the same dictionary, which holds as many distinct answers as the pack
+ * has, such as one capital per country. Built once per catalog and never modified.
+ */
+public final class ContinentIndex {
+    private final String[] continents;
+    private final int[] continentOf;
+    private final int[][] countriesByContinent;
+
+    /**
+     * Builds the index for the given countries.
+     *
+     * @param countries the countries, in catalog order
+     */
+    public ContinentIndex(List<Country> countries) {
+        this(continentsOf(countries));
+    }
+
+    /**
+     * Builds the index from the continent of each country. Ids follow the sorted order
+     * of the continent names, as in a {@link CountrySnapshot}, so both loaders agree.
+     *
+     * @param continentPerCountry the continent names, in catalog order
+     */
+    ContinentIndex(String[] continentPerCountry) {
+        TreeSet<String> sorted = new TreeSet<>(Arrays.asList(continentPerCountry));
+        Map<String, Integer> ids = new HashMap<>();
+        String[] names = new String[sorted.size()];
+        for (String continent : sorted) {
+            names[ids.size()] = continent;
+            ids.put(continent, ids.size());
+        }
+        int[] of = new int[continentPerCountry.length];
+        for (int i = 0; i < continentPerCountry.length; i++) {
+            of[i] = ids.get(continentPerCountry[i]);
+        }
+        this.continents = names;
+        this.continentOf = of;
+        this.countriesByContinent = group(continents.length, of);
+    }
+
+    /**
+     * Wraps an already interned dictionary, such as the one in a {@link CountrySnapshot}.
+     *
+     * @param continents  the continent names, indexed by id
+     * @param continentOf the continent id of each country
+     */
+    ContinentIndex(String[] continents, int[] continentOf) {
+        this.continents = continents;
+        this.continentOf = continentOf;
+        this.countriesByContinent = group(continents.length, continentOf);
+    }
+
+    private static String[] continentsOf(List<Country> countries) {
+        String[] continents = new String[countries.size()];
+        for (int i = 0; i < continents.length; i++) {
+            continents[i] = countries.get(i).getContinent();
+        }
+        return continents;
+    }
+
+    private static int[][] group(int continentCount, int[] continentOf) {
+        int[] counts = new int[continentCount];
+        for (int id : continentOf) counts[id]++;
+        int[][] groups = new int[continentCount][];
+        for (int c = 0; c < continentCount; c++) {
+            groups[c] = new int[counts[c]];
+            counts[c] = 0;
+        }
+        for (int i = 0; i < continentOf.length; i++) {
+            int c = continentOf[i];
+            groups[c][counts[c]++] = i;
+        }
+        return groups;
+    }
+
+    /**
+     * Returns the number of distinct continents.
+     *
+     * @return the continent count
+     */
+    public int getContinentCount() {
+        return continents.length;
+    }
+
+    /**
+     * Returns the continent name for an id.
+     *
+     * @param continentId the continent id
+     * @return the continent name
+     */
+    public String getContinent(int continentId) {
+        return continents[continentId];
+    }
+
+    /**
+     * Returns the continent id of the country at the given catalog position.
+     *
+     * @param countryIndex the catalog position
+     * @return the continent id
+     */
+    public int getContinentId(int countryIndex) {
+        return continentOf[countryIndex];
+    }
+
+    /**
+     * Returns the number of countries on a continent.
+     *
+     * @param continentId the continent id
+     * @return the country count for that continent
+     */
+    public int getCountryCount(int continentId) {
+        return countriesByContinent[continentId].length;
+    }
+
+    /**
+     * Returns the catalog position of the n-th country on a continent.
+     *
+     * @param continentId the continent id
+     * @param n           the position within the continent, from 0
+     * @return the catalog position
+     */
+    public int getCountryOn(int continentId, int n) {
+        return countriesByContinent[continentId][n];
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility libraries for the list views and the sorted name lookup.
+ */
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable set of countries shared by every quiz in the process.
+ * <p>
+ * Stored as a struct of arrays: the names in a {@code String[]} and the continents as
+ * int ids into the {@link ContinentIndex} dictionary, so a catalog holds no
+ * per-country objects and every country on a continent shares one String. Country
+ * objects are only created by the convenience accessors {@link #get(int)} and
+ * {@link #getCountries()}.
+ * <p>
+ * Instances are never modified after construction, so they can be read from any
+ * thread without locking.
+ */
+public final class CountryCatalog {
+    private final String[] names;
+    private final ContinentIndex continentIndex;
+    private final int[] byName; // catalog positions sorted by name, for indexOf
+
+    /**
+     * Constructs a catalog from the given countries and builds its continent index and
+     * name lookup. The Country objects are not kept.
+     *
+     * @param countries the countries to include
+     */
+    public CountryCatalog(List<Country> countries) {
+        this(namesOf(countries), new ContinentIndex(countries));
+    }
+
+    /**
+     * Constructs a catalog from parallel arrays of names and continents, without
+     * creating any Country objects.
+     *
+     * @param names      the country names, in catalog order
+     * @param continents the continent of each country
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    public CountryCatalog(String[] names, String[] continents) {
+        this(names.clone(), new ContinentIndex(checkLength(names, continents)));
+    }
+
+    /**
+     * Constructs a catalog over names and a continent index built for them. The name
+     * array is kept, not copied.
+     *
+     * @param names          the country names, in catalog order
+     * @param continentIndex the continent index of the same countries
+     */
+    CountryCatalog(String[] names, ContinentIndex continentIndex) {
+        this.names = names;
+        this.continentIndex = continentIndex;
+
+        Integer[] sorted = new Integer[names.length];
+        for (int i = 0; i < sorted.length; i++) sorted[i] = i;
+        Arrays.sort(sorted, (a, b) -> names[a].compareTo(names[b]));
+        byName = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) byName[i] = sorted[i];
+    }
+
+    private static String[] namesOf(List<Country> countries) {
+        String[] names = new String[countries.size()];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = countries.get(i).getName();
+        }
+        return names;
+    }
+
+    private static String[] checkLength(String[] names, String[] continents) {
+        if (names.length != continents.length) {
+            throw new IllegalArgumentException(names.length + " names but " + continents.length + " continents");
+        }
+        return continents;
+    }
+
+    /**
+     * Returns the number of countries in the catalog.
+     *
+     * @return the country count
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Returns the name of the country at the given position.
+     *
+     * @param index the catalog position
+     * @return the country name
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Returns the continent of the country at the given position, resolved through the
+     * continent dictionary.
+     *
+     * @param index the catalog position
+     * @return the shared continent name
+     */
+    public String getContinent(int index) {
+        return continentIndex.getContinent(continentIndex.getContinentId(index));
+    }
+
+    /**
+     * Returns the country at the given position as a new Country object. Prefer
+     * {@link #getName(int)} and the {@link ContinentIndex} on hot paths.
+     *
+     * @param index the catalog position
+     * @return the country
+     */
+    public Country get(int index) {
+        return new Country(names[index], getContinent(index));
+    }
+
+    /**
+     * Returns the position of the country with the given name, for mapping stored rows
+     * keyed by name back to the catalog.
+     *
+     * @param name the country name
+     * @return the catalog position, or -1 if no country has that name
+     */
+    public int indexOf(String name) {
+        int low = 0, high = byName.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = names[byName[mid]].compareTo(name);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return byName[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a read-only view of all countries. Each access creates a Country object.
+     *
+     * @return an unmodifiable list of Country objects
+     */
+    public List<Country> getCountries() {
+        return new CountryList();
+    }
+
+    /**
+     * Returns the continent index built for this catalog.
+     *
+     * @return the continent index
+     */
+    public ContinentIndex getContinentIndex() {
+        return continentIndex;
+    }
+
+    /**
+     * Unmodifiable list view that materializes countries on access.
+     */
+    private final class CountryList extends AbstractList<Country> implements RandomAccess {
+        @Override
+        public Country get(int index) {
+            return CountryCatalog.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return names.length;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.example.countryquiz;
+
+/*
+ * Java I/O and utility libraries for streaming the country CSV as UTF-8.
+ */
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming parser for the "name,continent" country CSV shipped in the assets folder.
+ * <p>
+ * The input is read in {@link #CHUNK_SIZE} chunks and scanned byte by byte: no lines,
+ * readers or per-row arrays are built, and each field is decoded from UTF-8 once.
+ * Quoted fields follow RFC 4180 (commas, line breaks and doubled quotes inside quotes),
+ * unquoted fields are trimmed, and a leading byte order mark is skipped. Continent names
+ * repeat on almost every row, so their bytes are matched against the ones already seen
+ * and the same String is handed out again without decoding.
+ * <p>
+ * Rows that do not have a non-empty name and continent are reported to the
+ * {@link Handler} with their line number and skipped; blank lines are ignored and
+ * fields after the second are not used. {@link #readDistinct} also skips repeated names.
+ */
+public final class CountryCsvReader {
+    /** Bytes read from the stream at a time. */
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Receives the rows of the CSV as they are parsed.
+     */
+    public interface Handler {
+        /**
+         * Called for every valid row, in file order.
+         *
+         * @param line      the line the row starts on, from 1
+         * @param name      the country name
+         * @param continent the continent name; equal continents are the same String instance
+         */
+        void onCountry(int line, String name, String continent);
+
+        /**
+         * Called for every row that is skipped.
+         *
+         * @param line   the line the row starts on, from 1
+         * @param reason what is wrong with it
+         */
+        void onBadRow(int line, String reason);
+    }
+
+    private final Handler handler;
+    private final List<byte[]> continentBytes = new ArrayList<>();
+    private final List<String> continents = new ArrayList<>();
+
+    // The field being scanned, and what is known about it
+    private byte[] field = new byte[64];
+    private int fieldLength;
+    private boolean quoted;
+    private boolean inQuotes;
+    private boolean quotePending;
+
+    // The row being scanned
+    private String name;
+    private int fieldIndex;
+    private int line = 1;
+    private int rowLine = 1;
+    private boolean rowEmpty = true;
+
+    private CountryCsvReader(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Streams every row of the CSV to the handler.
+     *
+     * @param in      the CSV stream; it is not closed by this method
+     * @param handler receives the valid and the skipped rows
+     * @throws IOException if the stream cannot be read
+     */
+    public static void read(InputStream in, Handler handler) throws IOException {
+        new CountryCsvReader(handler).parse(in);
+    }
+
+    /**
+     * Streams the rows of the CSV like {@link #read}, but reports a row whose name
+     * already appeared as a bad row, so the first occurrence wins. The database import
+     * and the build-time snapshot both read the country CSV this way.
+     *
+     * @param in      the CSV stream; it is not closed by this method
+     * @param handler receives the valid and the skipped rows
+     * @throws IOException if the stream cannot be read
+     */
+    public static void readDistinct(InputStream in, Handler handler) throws IOException {
+        Set<String> seen = new HashSet<>();
+        read(in, new Handler() {
+            @Override
+            public void onCountry(int line, String name, String continent) {
+                if (seen.add(name)) {
+                    handler.onCountry(line, name, continent);
+                } else {
+                    handler.onBadRow(line, "duplicate country " + name);
+                }
+            }
+
+            @Override
+            public void onBadRow(int line, String reason) {
+                handler.onBadRow(line, reason);
+            }
+        });
+    }
+
+    /**
+     * Reads every row of the CSV into Country objects, in file order.
+     *
+     * @param in the CSV stream; it is not closed by this method
+     * @return the parsed countries
+     * @throws IOException if the stream cannot be read or a row is malformed; the message
+     *                     gives the line number
+     */
+    public static List<Country> readAll(InputStream in) throws IOException {
+        List<Country> countries = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+        read(in, new Handler() {
+            @Override
+            public void onCountry(int line, String name, String continent) {
+                countries.add(new Country(name, continent));
+            }
+
+            @Override
+            public void onBadRow(int line, String reason) {
+                problems.add("line " + line + ": " + reason);
+            }
+        });
+        if (!problems.isEmpty()) {
+            throw new IOException("Malformed country CSV, " + String.join("; ", problems));
+        }
+        return countries;
+    }
+
+    private void parse(InputStream in) throws IOException {
+        byte[] chunk = new byte[CHUNK_SIZE];
+        boolean first = true;
+        int n;
+        while ((n = in.read(chunk)) != -1) {
+            int start = 0;
+            if (first && n >= 3 && (chunk[0] & 0xFF) == 0xEF && (chunk[1] & 0xFF) == 0xBB && (chunk[2] & 0xFF) == 0xBF) {
+                start = 3;
+            }
+            first = first && n == 0;
+            for (int i = start; i < n; i++) {
+                accept(chunk[i]);
+            }
+        }
+        if (inQuotes) {
+            handler.onBadRow(rowLine, "unterminated quoted field");
+            return;
+        }
+        endRow();
+    }
+
+    private void accept(byte b) {
+        if (inQuotes) {
+            if (b == '"') {
+                inQuotes = false;
+                quotePending = true;
+            } else {
+                if (b == '\n') line++;
+                append(b);
+            }
+            return;
+        }
+        if (quotePending) {
+            quotePending = false;
+            if (b == '"') {
+                // A doubled quote inside a quoted field
+                inQuotes = true;
+                append(b);
+                return;
+            }
+        }
+        switch (b) {
+            case ',':
+                endField();
+                break;
+            case '\n':
+                endRow();
+                line++;
+                rowLine = line;
+                break;
+            case '\r':
+                break;
+            case '"':
+                if (fieldLength == 0 && !quoted) {
+                    quoted = true;
+                    inQuotes = true;
+                    rowEmpty = false;
+                    break;
+                }
+                append(b);
+                break;
+            default:
+                append(b);
+        }
+    }
+
+    private void append(byte b) {
+        if (b != ' ' && b != '\t') rowEmpty = false;
+        if (fieldLength == field.length) field = Arrays.copyOf(field, fieldLength * 2);
+        field[fieldLength++] = b;
+    }
+
+    private void endField() {
+        rowEmpty = false;
+        if (fieldIndex == 0) {
+            name = decode();
+        } else if (fieldIndex == 1) {
+            String continent = internContinent();
+            if (name.isEmpty()) {
+                handler.onBadRow(rowLine, "missing country name");
+            } else if (continent.isEmpty()) {
+                handler.onBadRow(rowLine, "missing continent for " + name);
+            } else {
+                handler.onCountry(rowLine, name, continent);
+            }
+        }
+        fieldIndex++;
+        fieldLength = 0;
+        quoted = false;
+    }
+
+    private void endRow() {
+        if (rowEmpty && fieldIndex == 0) {
+            fieldLength = 0;
+            return;
+        }
+        int fields = fieldIndex;
+        endField();
+        if (fields == 0) {
+            handler.onBadRow(rowLine, "expected name,continent but found one field");
+        }
+        name = null;
+        fieldIndex = 0;
+        rowEmpty = true;
+    }
+
+    /**
+     * Returns the current field as a String, trimmed unless it was quoted.
+     */
+    private String decode() {
+        int from = 0, to = fieldLength;
+        if (!quoted) {
+            while (from < to && isBlank(field[from])) from++;
+            while (to > from && isBlank(field[to - 1])) to--;
+        }
+        return new String(field, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the continent in the current field, reusing the String of an earlier row
+     * with the same bytes.
+     */
+    private String internContinent() {
+        int from = 0, to = fieldLength;
+        if (!quoted) {
+            while (from < to && isBlank(field[from])) from++;
+            while (to > from && isBlank(field[to - 1])) to--;
+        }
+        for (int c = 0; c < continentBytes.size(); c++) {
+            byte[] known = continentBytes.get(c);
+            if (known.length == to - from && sameBytes(known, field, from)) {
+                return continents.get(c);
+            }
+        }
+        String continent = new String(field, from, to - from, StandardCharsets.UTF_8);
+        continentBytes.add(Arrays.copyOfRange(field, from, to));
+        continents.add(continent);
+        return continent;
+    }
+
+    /**
+     * Compares a whole array with a range of another. Arrays.equals over ranges needs
+     * Android API 33, above the app's minSdk.
+     */
+    private static boolean sameBytes(byte[] known, byte[] bytes, int from) {
+        for (int i = 0; i < known.length; i++) {
+            if (known[i] != bytes[from + i]) return false;
+        }
+        return true;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+}
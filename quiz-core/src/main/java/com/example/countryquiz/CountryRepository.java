@@ -0,0 +1,31 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility library for list handling.
+ */
+import java.util.List;
+
+/**
+ * Source of the reference country data used to build quizzes.
+ * Implemented by the prebuilt binary snapshot and by the SQLite tables
+ * filled from the CSV importer.
+ */
+public interface CountryRepository {
+
+    /**
+     * Returns every known country.
+     *
+     * @return a list of Country objects
+     */
+    List<Country> getAllCountries();
+
+    /**
+     * Builds a catalog of every known country. Repositories that already hold the
+     * countries as arrays override this to skip the intermediate Country objects.
+     *
+     * @return a new catalog
+     */
+    default CountryCatalog loadCatalog() {
+        return new CountryCatalog(getAllCountries());
+    }
+}
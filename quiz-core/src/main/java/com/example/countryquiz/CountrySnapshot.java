@@ -0,0 +1,228 @@
+package com.example.countryquiz;
+
+/*
+ * Java I/O, NIO and utility libraries for writing the binary snapshot and reading it in place.
+ */
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Read-only view over the binary country snapshot produced at build time by the
+ * {@code compileCountrySnapshot} Gradle task from {@code country_continent.csv}, through
+ * {@link CountrySnapshotCompiler} and {@link #write(List, OutputStream)}.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * int    magic "CQS1"
+ * int    format version
+ * int    continent count, then per continent: u16 length + UTF-8 bytes
+ * int    country count
+ * int[]  record offsets, relative to the start of the records
+ * records: u8 continent id, u16 name length, UTF-8 name bytes
+ * </pre>
+ * Records are decoded on access, so the buffer can be memory-mapped straight from the APK.
+ */
+public final class CountrySnapshot {
+    static final int MAGIC = 0x43515331; // "CQS1"
+    static final int VERSION = 1;
+
+    private final ByteBuffer buffer;
+    private final String[] continents;
+    private final int count;
+    private final int offsetsStart;
+    private final int recordsStart;
+
+    private CountrySnapshot(ByteBuffer buffer, String[] continents, int count, int offsetsStart, int recordsStart) {
+        this.buffer = buffer;
+        this.continents = continents;
+        this.count = count;
+        this.offsetsStart = offsetsStart;
+        this.recordsStart = recordsStart;
+    }
+
+    /**
+     * Writes countries in the snapshot format, with the continents in sorted order.
+     *
+     * @param countries the countries, in the order they are to be read back
+     * @param out       the stream to write to; it is not closed by this method
+     * @throws IOException if the stream cannot be written or the countries do not fit
+     *                     the format
+     */
+    public static void write(List<Country> countries, OutputStream out) throws IOException {
+        TreeSet<String> sorted = new TreeSet<>();
+        for (Country country : countries) {
+            sorted.add(country.getContinent());
+        }
+        List<String> continents = new ArrayList<>(sorted);
+        if (continents.size() > 255) {
+            throw new IOException("Country snapshot supports at most 255 continents");
+        }
+
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(continents.size());
+        for (String continent : continents) {
+            writeString(data, continent);
+        }
+        data.writeInt(countries.size());
+        int offset = 0;
+        byte[][] names = new byte[countries.size()][];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = countries.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            data.writeInt(offset);
+            offset += 3 + names[i].length;
+        }
+        for (int i = 0; i < names.length; i++) {
+            data.writeByte(continents.indexOf(countries.get(i).getContinent()));
+            writeBytes(data, names[i]);
+        }
+        data.flush();
+    }
+
+    private static void writeString(DataOutputStream data, String value) throws IOException {
+        writeBytes(data, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream data, byte[] bytes) throws IOException {
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("Country snapshot strings are limited to 65535 bytes");
+        }
+        data.writeShort(bytes.length);
+        data.write(bytes);
+    }
+
+    /**
+     * Validates the snapshot header and wraps the buffer without copying it.
+     *
+     * @param source a buffer positioned at the start of the snapshot
+     * @return the snapshot view
+     * @throws IOException if the buffer is not a valid snapshot
+     */
+    public static CountrySnapshot wrap(ByteBuffer source) throws IOException {
+        ByteBuffer buffer = source.slice().order(ByteOrder.BIG_ENDIAN);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a country snapshot");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported country snapshot version " + version);
+            }
+
+            String[] continents = new String[buffer.getInt()];
+            for (int i = 0; i < continents.length; i++) {
+                byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                continents[i] = new String(bytes, StandardCharsets.UTF_8).intern();
+            }
+
+            int count = buffer.getInt();
+            int offsetsStart = buffer.position();
+            int recordsStart = offsetsStart + count * 4;
+            if (count < 0 || recordsStart > buffer.limit()) {
+                throw new IOException("Truncated country snapshot");
+            }
+            return new CountrySnapshot(buffer, continents, count, offsetsStart, recordsStart);
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated country snapshot", e);
+        }
+    }
+
+    /**
+     * Returns the number of countries in the snapshot.
+     *
+     * @return the country count
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Returns the interned continent dictionary, indexed by continent id.
+     *
+     * @return a copy of the continent names
+     */
+    public String[] getContinents() {
+        return continents.clone();
+    }
+
+    /**
+     * Returns the continent id of the country at the given position.
+     *
+     * @param index the record index
+     * @return the continent id
+     */
+    public int getContinentId(int index) {
+        return buffer.get(recordPosition(index)) & 0xFF;
+    }
+
+    /**
+     * Returns the continent of the country at the given position.
+     *
+     * @param index the record index
+     * @return the interned continent name
+     */
+    public String getContinent(int index) {
+        return continents[getContinentId(index)];
+    }
+
+    /**
+     * Decodes the name of the country at the given position.
+     *
+     * @param index the record index
+     * @return the country name
+     */
+    public String getName(int index) {
+        int position = recordPosition(index);
+        byte[] bytes = new byte[buffer.getShort(position + 1) & 0xFFFF];
+        ByteBuffer name = buffer.duplicate();
+        name.position(position + 3);
+        name.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Materializes every record as a Country, sharing the interned continent names.
+     *
+     * @return the countries in snapshot order
+     */
+    public List<Country> toCountries() {
+        List<Country> countries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            countries.add(new Country(getName(i), getContinent(i)));
+        }
+        return countries;
+    }
+
+    /**
+     * Builds a catalog straight from the records: names are decoded once and the
+     * snapshot's continent dictionary and ids are reused, so no Country objects are made.
+     *
+     * @return the catalog, in snapshot order
+     */
+    public CountryCatalog toCatalog() {
+        String[] names = new String[count];
+        int[] continentOf = new int[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = getName(i);
+            continentOf[i] = getContinentId(i);
+        }
+        return new CountryCatalog(names, new ContinentIndex(continents, continentOf));
+    }
+
+    private int recordPosition(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + count);
+        }
+        return recordsStart + buffer.getInt(offsetsStart + index * 4);
+    }
+}
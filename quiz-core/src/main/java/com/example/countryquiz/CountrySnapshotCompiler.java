@@ -0,0 +1,66 @@
+package com.example.countryquiz;
+
+/*
+ * Java I/O and utility libraries for reading the CSV and writing the snapshot file.
+ */
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Build-time entry point of the app's {@code compileCountrySnapshot} Gradle task.
+ * <p>
+ * Reads the country CSV with {@link CountryCsvReader#readDistinct}, the same parser and
+ * rules as the database import: the byte order mark is skipped, malformed rows are
+ * reported and left out, and only the first row of a repeated name is kept. So the
+ * snapshot always holds exactly the countries the import would store.
+ */
+public final class CountrySnapshotCompiler {
+
+    private CountrySnapshotCompiler() {
+    }
+
+    /**
+     * Compiles a CSV file into a snapshot file.
+     *
+     * @param args the CSV path and the snapshot path
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CountrySnapshotCompiler <country csv> <snapshot>");
+            System.exit(2);
+        }
+        File csv = new File(args[0]);
+        File snapshot = new File(args[1]);
+
+        List<Country> countries = new ArrayList<>();
+        try (InputStream in = new FileInputStream(csv)) {
+            CountryCsvReader.readDistinct(in, new CountryCsvReader.Handler() {
+                @Override
+                public void onCountry(int line, String name, String continent) {
+                    countries.add(new Country(name, continent));
+                }
+
+                @Override
+                public void onBadRow(int line, String reason) {
+                    System.err.println(csv.getName() + " line " + line + ": " + reason + ", skipped");
+                }
+            });
+        }
+
+        File dir = snapshot.getAbsoluteFile().getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(snapshot))) {
+            CountrySnapshot.write(countries, out);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.countryquiz;
+
+/*
+ * Java I/O library for opening and streaming the pack's CSV dataset.
+ */
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * QuestionSource that streams a pack's CSV dataset through {@link CountryCsvReader}.
+ * Where the file lives is up to the {@link Opener}: the app reads assets, headless
+ * tools read files.
+ */
+public final class CsvQuestionSource implements QuestionSource {
+
+    /**
+     * Opens a dataset by file name.
+     */
+    public interface Opener {
+        /**
+         * Opens the named dataset for reading.
+         *
+         * @param name the dataset file name, from {@link QuestionPack#getDataset()}
+         * @return a stream the caller closes
+         * @throws IOException if the dataset cannot be opened
+         */
+        InputStream open(String name) throws IOException;
+    }
+
+    private final QuestionPack pack;
+    private final Opener opener;
+
+    /**
+     * Constructs a source for the given pack.
+     *
+     * @param pack   the pack to load
+     * @param opener opens the pack's dataset
+     */
+    public CsvQuestionSource(QuestionPack pack, Opener opener) {
+        this.pack = pack;
+        this.opener = opener;
+    }
+
+    @Override
+    public QuestionPack getPack() {
+        return pack;
+    }
+
+    @Override
+    public CountryCatalog load() throws IOException {
+        List<String> names = new ArrayList<>();
+        List<String> answers = new ArrayList<>();
+        List<String> problems = new ArrayList<>();
+        try (InputStream in = opener.open(pack.getDataset())) {
+            // Straight into parallel columns; the reader already shares equal answers
+            CountryCsvReader.read(in, new CountryCsvReader.Handler() {
+                @Override
+                public void onCountry(int line, String name, String answer) {
+                    names.add(name);
+                    answers.add(answer);
+                }
+
+                @Override
+                public void onBadRow(int line, String reason) {
+                    problems.add("line " + line + ": " + reason);
+                }
+            });
+        }
+        if (!problems.isEmpty()) {
+            throw new IOException("Malformed " + pack.getDataset() + ", " + String.join("; ", problems));
+        }
+        return new CountryCatalog(names.toArray(new String[0]), answers.toArray(new String[0]));
+    }
+}
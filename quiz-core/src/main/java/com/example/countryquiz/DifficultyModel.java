@@ -0,0 +1,223 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility library for seeded random draws.
+ */
+import java.util.SplittableRandom;
+
+/**
+ * In-memory answer statistics for one catalog, used to pick harder questions.
+ * <p>
+ * Each country is weighted by its smoothed error rate, {@code (errors + 1) / (attempts + 2)},
+ * scaled to an integer and floored at {@link #MIN_WEIGHT} so that well-known countries
+ * still come up now and then. The weights live in a {@link FenwickTree}, so drawing a
+ * country and updating it after an answer both cost O(log n) whatever the size of the
+ * catalog or the length of the history.
+ * <p>
+ * Wrong picks are also counted per pair of (correct continent, chosen continent). A
+ * question's distractors are drawn in proportion to how often each wrong continent was
+ * confused with the correct one, plus {@link #CONFUSION_PRIOR}. There are only a
+ * handful of continents, so those draws scan the row directly. A row is only allocated
+ * once its answer has been confused, so a catalog with one answer per country, as in
+ * the capitals pack, does not pay for a full answer-by-answer matrix.
+ * <p>
+ * All methods are synchronized: quizzes are generated on background threads while
+ * answers arrive on the main thread.
+ */
+public final class DifficultyModel {
+    /** Weight of a country that is always answered wrong. */
+    static final long WEIGHT_SCALE = 1000;
+    /** Lowest weight a country can reach, however often it is answered right. */
+    static final long MIN_WEIGHT = 50;
+    /** Pseudo-count added to every continent pair, so unconfused pairs still appear. */
+    static final int CONFUSION_PRIOR = 2;
+
+    private final CountryCatalog catalog;
+    private final int[] attempts;
+    private final int[] errors;
+    private final FenwickTree countryWeights;
+    private final int[][] confusion; // rows are null until their answer is first confused
+
+    /**
+     * Constructs a model with no history, under which every country is equally likely.
+     *
+     * @param catalog the catalog the statistics refer to, by position
+     */
+    public DifficultyModel(CountryCatalog catalog) {
+        this.catalog = catalog;
+        int n = catalog.size();
+        attempts = new int[n];
+        errors = new int[n];
+        long[] initial = new long[n];
+        for (int i = 0; i < n; i++) initial[i] = weight(0, 0);
+        countryWeights = new FenwickTree(initial);
+        int continents = catalog.getContinentIndex().getContinentCount();
+        confusion = new int[continents][];
+    }
+
+    /**
+     * Returns the sampling weight for a country's history.
+     *
+     * @param attempts how often the country was asked
+     * @param errors   how often it was answered wrong
+     * @return the integer weight, at least {@link #MIN_WEIGHT}
+     */
+    static long weight(int attempts, int errors) {
+        return Math.max(MIN_WEIGHT, (errors + 1L) * WEIGHT_SCALE / (attempts + 2L));
+    }
+
+    /**
+     * Returns the catalog the statistics refer to.
+     *
+     * @return the catalog
+     */
+    public CountryCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Replaces a country's totals, as loaded from storage.
+     *
+     * @param countryIndex the catalog position
+     * @param attempts     how often the country was asked
+     * @param errors       how often it was answered wrong
+     */
+    public synchronized void setCountryStats(int countryIndex, int attempts, int errors) {
+        this.attempts[countryIndex] = attempts;
+        this.errors[countryIndex] = errors;
+        countryWeights.set(countryIndex, weight(attempts, errors));
+    }
+
+    /**
+     * Replaces the number of times one continent was picked for a country on another,
+     * as loaded from storage.
+     *
+     * @param correctId the continent id of the correct answer
+     * @param chosenId  the continent id that was picked instead
+     * @param count     the number of such picks
+     */
+    public synchronized void setConfusion(int correctId, int chosenId, int count) {
+        confusionRow(correctId)[chosenId] = count;
+    }
+
+    /**
+     * Folds one answer into the statistics.
+     *
+     * @param countryIndex      the catalog position of the country asked about
+     * @param chosenContinentId the continent id that was picked
+     */
+    public synchronized void recordAnswer(int countryIndex, int chosenContinentId) {
+        int correctId = catalog.getContinentIndex().getContinentId(countryIndex);
+        attempts[countryIndex]++;
+        if (chosenContinentId != correctId) {
+            errors[countryIndex]++;
+            confusionRow(correctId)[chosenContinentId]++;
+        }
+        countryWeights.set(countryIndex, weight(attempts[countryIndex], errors[countryIndex]));
+    }
+
+    private int[] confusionRow(int correctId) {
+        int[] row = confusion[correctId];
+        if (row == null) {
+            row = new int[confusion.length];
+            confusion[correctId] = row;
+        }
+        return row;
+    }
+
+    /**
+     * Returns how often a country was asked.
+     *
+     * @param countryIndex the catalog position
+     * @return the attempt count
+     */
+    public synchronized int getAttempts(int countryIndex) {
+        return attempts[countryIndex];
+    }
+
+    /**
+     * Returns how often a country was answered wrong.
+     *
+     * @param countryIndex the catalog position
+     * @return the error count
+     */
+    public synchronized int getErrors(int countryIndex) {
+        return errors[countryIndex];
+    }
+
+    /**
+     * Returns the current sampling weight of a country.
+     *
+     * @param countryIndex the catalog position
+     * @return the weight
+     */
+    synchronized long getWeight(int countryIndex) {
+        return countryWeights.get(countryIndex);
+    }
+
+    /**
+     * Draws distinct countries, each with probability proportional to its weight among
+     * those not yet drawn. Drawn countries are zeroed in the tree and restored before
+     * returning, so the cost is O(k log n).
+     *
+     * @param k      how many countries to draw; must not exceed the catalog size
+     * @param random the random source
+     * @return the catalog positions, in draw order
+     */
+    synchronized int[] sampleCountries(int k, SplittableRandom random) {
+        if (k > countryWeights.size()) {
+            throw new IllegalArgumentException("Cannot pick " + k + " distinct countries from " + countryWeights.size());
+        }
+        int[] picked = new int[k];
+        long[] saved = new long[k];
+        try {
+            for (int i = 0; i < k; i++) {
+                picked[i] = countryWeights.sample(random);
+                saved[i] = countryWeights.get(picked[i]);
+                countryWeights.set(picked[i], 0);
+            }
+        } finally {
+            for (int i = k - 1; i >= 0; i--) {
+                if (saved[i] > 0) countryWeights.set(picked[i], saved[i]);
+            }
+        }
+        return picked;
+    }
+
+    /**
+     * Draws distinct wrong continents for a question, favouring those most often
+     * confused with the correct one.
+     *
+     * @param correctId the continent id of the correct answer
+     * @param k         how many to draw; must be below the continent count
+     * @param random    the random source
+     * @return the drawn continent ids, never including {@code correctId}
+     */
+    synchronized int[] sampleWrongContinents(int correctId, int k, SplittableRandom random) {
+        int[] row = confusion[correctId];
+        long[] weights = new long[confusion.length];
+        long total = 0;
+        for (int c = 0; c < weights.length; c++) {
+            if (c != correctId) {
+                weights[c] = (row != null ? row[c] : 0) + CONFUSION_PRIOR;
+                total += weights[c];
+            }
+        }
+        if (k >= weights.length) {
+            throw new IllegalArgumentException("Cannot pick " + k + " wrong continents from " + (weights.length - 1));
+        }
+
+        int[] picked = new int[k];
+        for (int i = 0; i < k; i++) {
+            long target = random.nextLong(total);
+            int c = 0;
+            while (target >= weights[c]) {
+                target -= weights[c++];
+            }
+            picked[i] = c;
+            total -= weights[c];
+            weights[c] = 0;
+        }
+        return picked;
+    }
+}
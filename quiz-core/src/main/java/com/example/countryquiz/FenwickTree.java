@@ -0,0 +1,126 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility library for seeded random draws.
+ */
+import java.util.SplittableRandom;
+
+/**
+ * Binary indexed (Fenwick) tree over non-negative integer weights.
+ * <p>
+ * Point updates, prefix sums and weighted draws all cost O(log n), so a weight can be
+ * changed after every answer without rebuilding anything. Weights are integers so
+ * repeated updates never drift the way floating-point sums would. Not thread-safe.
+ */
+final class FenwickTree {
+    private final long[] tree;
+    private final long[] weights;
+    private long total;
+
+    /**
+     * Builds the tree over a copy of the given weights in O(n).
+     *
+     * @param initial the starting weight of each position; none may be negative
+     */
+    FenwickTree(long[] initial) {
+        int n = initial.length;
+        weights = initial.clone();
+        tree = new long[n + 1];
+        for (int i = 0; i < n; i++) {
+            if (weights[i] < 0) throw new IllegalArgumentException("Negative weight " + weights[i]);
+            tree[i + 1] += weights[i];
+            total += weights[i];
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= n) tree[parent] += tree[i + 1];
+        }
+    }
+
+    /**
+     * Returns the number of positions.
+     *
+     * @return the tree size
+     */
+    int size() {
+        return weights.length;
+    }
+
+    /**
+     * Returns the weight at a position.
+     *
+     * @param index the position
+     * @return its weight
+     */
+    long get(int index) {
+        return weights[index];
+    }
+
+    /**
+     * Returns the sum of all weights.
+     *
+     * @return the total weight
+     */
+    long total() {
+        return total;
+    }
+
+    /**
+     * Replaces the weight at a position.
+     *
+     * @param index  the position
+     * @param weight the new weight; must not be negative
+     */
+    void set(int index, long weight) {
+        if (weight < 0) throw new IllegalArgumentException("Negative weight " + weight);
+        long delta = weight - weights[index];
+        weights[index] = weight;
+        total += delta;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum of the weights before a position.
+     *
+     * @param end the exclusive end position
+     * @return the weight of positions {@code [0, end)}
+     */
+    long prefixSum(int end) {
+        long sum = 0;
+        for (int i = end; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Finds the position whose cumulative weight range covers the target, by descending
+     * the tree one bit at a time.
+     *
+     * @param target a value in {@code [0, total())}
+     * @return the smallest position whose prefix sum, inclusive, exceeds the target
+     */
+    int find(long target) {
+        int pos = 0;
+        for (int step = Integer.highestOneBit(weights.length); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= weights.length && tree[next] <= target) {
+                pos = next;
+                target -= tree[next];
+            }
+        }
+        return pos;
+    }
+
+    /**
+     * Draws a position with probability proportional to its weight.
+     *
+     * @param random the random source
+     * @return the drawn position
+     * @throws IllegalStateException if every weight is zero
+     */
+    int sample(SplittableRandom random) {
+        if (total <= 0) throw new IllegalStateException("Nothing to sample");
+        return find(random.nextLong(total));
+    }
+}
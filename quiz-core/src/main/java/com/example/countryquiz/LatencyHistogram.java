@@ -0,0 +1,101 @@
+package com.example.countryquiz;
+
+/**
+ * Fixed-size log-linear histogram of latencies in nanoseconds.
+ * <p>
+ * Values are grouped by power of two, with {@link #SUB_BUCKETS} linear buckets per
+ * power, which bounds the relative error of a percentile to about 3%. Recording does
+ * not allocate, so one histogram per worker thread can take millions of samples
+ * without adding GC pressure to what is being measured. Not thread-safe; merge
+ * per-thread histograms with {@link #add(LatencyHistogram)}, or record through
+ * {@link Metrics}, which locks each histogram it owns.
+ */
+public final class LatencyHistogram {
+    static final int SUB_BUCKET_BITS = 5;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[(64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS];
+    private long total;
+    private long max;
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values count as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts[bucketOf(value)]++;
+        total++;
+        if (value > max) max = value;
+    }
+
+    /**
+     * Adds every sample of another histogram to this one.
+     *
+     * @param other the histogram to merge in
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the number of recorded samples.
+     *
+     * @return the sample count
+     */
+    public long getCount() {
+        return total;
+    }
+
+    /**
+     * Returns the largest recorded latency, exactly.
+     *
+     * @return the maximum in nanoseconds
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Returns the latency below which the given share of samples fall, rounded up to
+     * the top of its bucket.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return Math.min(max, upperBoundOf(i));
+        }
+        return max;
+    }
+
+    /**
+     * Maps a value to its bucket: values below {@code 2 * SUB_BUCKETS} get a bucket
+     * each, larger values share one per {@code 1 / SUB_BUCKETS} of their power of two.
+     */
+    static int bucketOf(long value) {
+        if (value < 2 * SUB_BUCKETS) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /**
+     * Returns the largest value that maps to the given bucket.
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket - (long) shift * SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
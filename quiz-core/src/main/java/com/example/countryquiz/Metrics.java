@@ -0,0 +1,157 @@
+package com.example.countryquiz;
+
+/*
+ * Java concurrency and utility libraries for the lock-free registry and the sorted dump.
+ */
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Process-wide registry of named counters and latency histograms.
+ * <p>
+ * Counters are atomic longs; latencies go into a {@link LatencyHistogram} per name,
+ * locked only while one sample is added, so recording never allocates once a name has
+ * been seen. Names are dotted, component first (for example
+ * {@code "CountryQuizData.storeAnswers"}). {@link #toJson()} dumps everything in name
+ * order, so two dumps can be diffed, and is what the debug screen and the tests print.
+ * Thread-safe.
+ */
+public final class Metrics {
+
+    private static final Metrics INSTANCE = new Metrics();
+
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs an empty registry. The app records into {@link #getInstance()}; tests
+     * and tools may keep their own.
+     */
+    public Metrics() {
+    }
+
+    /**
+     * Returns the process-wide registry.
+     *
+     * @return the shared Metrics instance
+     */
+    public static Metrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Adds to a counter, creating it at zero on first use.
+     *
+     * @param name  the counter name
+     * @param delta the amount to add
+     */
+    public void increment(String name, long delta) {
+        AtomicLong counter = counters.get(name);
+        if (counter == null) counter = counters.computeIfAbsent(name, k -> new AtomicLong());
+        counter.addAndGet(delta);
+    }
+
+    /**
+     * Returns the current value of a counter.
+     *
+     * @param name the counter name
+     * @return the value, or 0 if it was never incremented
+     */
+    public long getCount(String name) {
+        AtomicLong counter = counters.get(name);
+        return counter != null ? counter.get() : 0;
+    }
+
+    /**
+     * Records one latency sample.
+     *
+     * @param name  the histogram name
+     * @param nanos the latency in nanoseconds
+     */
+    public void recordNanos(String name, long nanos) {
+        LatencyHistogram histogram = latencies.get(name);
+        if (histogram == null) histogram = latencies.computeIfAbsent(name, k -> new LatencyHistogram());
+        synchronized (histogram) {
+            histogram.record(nanos);
+        }
+    }
+
+    /**
+     * Records the time elapsed since a {@link System#nanoTime()} reading.
+     *
+     * @param name       the histogram name
+     * @param startNanos the reading taken when the measured work began
+     */
+    public void recordSince(String name, long startNanos) {
+        recordNanos(name, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Returns a copy of one histogram, safe to read while recording continues.
+     *
+     * @param name the histogram name
+     * @return the copy; empty if nothing was recorded under that name
+     */
+    public LatencyHistogram getLatencies(String name) {
+        LatencyHistogram copy = new LatencyHistogram();
+        LatencyHistogram histogram = latencies.get(name);
+        if (histogram != null) {
+            synchronized (histogram) {
+                copy.add(histogram);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Drops every counter and histogram.
+     */
+    public void reset() {
+        counters.clear();
+        latencies.clear();
+    }
+
+    /**
+     * Dumps every counter and histogram as a JSON object: counters by name, and per
+     * histogram the sample count with p50, p90, p99 and max in microseconds.
+     *
+     * @return the JSON text, keys in name order
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder(256).append("{\"counters\":{");
+        String separator = "";
+        for (Map.Entry<String, AtomicLong> entry : new TreeMap<>(counters).entrySet()) {
+            json.append(separator).append(quote(entry.getKey())).append(':').append(entry.getValue().get());
+            separator = ",";
+        }
+        json.append("},\"latencies\":{");
+        separator = "";
+        for (String name : new TreeMap<>(latencies).keySet()) {
+            LatencyHistogram h = getLatencies(name);
+            json.append(separator).append(quote(name)).append(String.format(Locale.ROOT,
+                    ":{\"count\":%d,\"p50Us\":%.1f,\"p90Us\":%.1f,\"p99Us\":%.1f,\"maxUs\":%.1f}",
+                    h.getCount(), h.getPercentile(50) / 1e3, h.getPercentile(90) / 1e3,
+                    h.getPercentile(99) / 1e3, h.getMax() / 1e3));
+            separator = ",";
+        }
+        return json.append("}}").toString();
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,246 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility libraries for the option list view and random sampling.
+ */
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+
+/**
+ * Represents a single quiz question, including the country being asked about,
+ * a list of answer options, and the user's selected answer.
+ * <p>
+ * A question holds only ids: the catalog position of the country and the continent
+ * id of each option. Answers are checked by comparing option slots, and names are
+ * resolved through the catalog when they are shown.
+ */
+public class Question {
+    /** Value of {@link #getUserChoice()} before the user has picked an option. */
+    public static final int NO_CHOICE = -1;
+
+    private final CountryCatalog catalog;
+    private final int countryIndex;
+    private final int[] optionIds;
+    private final int correctIndex;
+    private int userChoice = NO_CHOICE;
+    private List<String> options;
+
+    /**
+     * Constructs a Question for the country at the given catalog position, sampling
+     * distinct wrong continents from the catalog's continent index and placing the
+     * correct continent at a random slot.
+     *
+     * @param catalog      the catalog the country belongs to
+     * @param countryIndex the catalog position of the country being asked about
+     * @param optionCount  the total number of options, including the correct one
+     * @param random       the random source
+     */
+    public Question(CountryCatalog catalog, int countryIndex, int optionCount, SplittableRandom random) {
+        this(catalog, countryIndex, sampleOptions(catalog.getContinentIndex(), countryIndex, optionCount, random));
+    }
+
+    /**
+     * Rebuilds a Question from the continent ids of its options, as returned by
+     * {@link #getOptionIds()}. Used to restore a quiz without sampling it again.
+     *
+     * @param catalog      the catalog the country belongs to
+     * @param countryIndex the catalog position of the country being asked about
+     * @param optionIds    the continent id of each option, in display order
+     * @throws IllegalArgumentException if an id is out of range or the correct continent is missing
+     */
+    public Question(CountryCatalog catalog, int countryIndex, int[] optionIds) {
+        ContinentIndex index = catalog.getContinentIndex();
+        int correctId = index.getContinentId(countryIndex);
+        this.catalog = catalog;
+        this.countryIndex = countryIndex;
+        this.optionIds = optionIds;
+
+        int correct = -1;
+        for (int i = 0; i < optionIds.length; i++) {
+            if (optionIds[i] < 0 || optionIds[i] >= index.getContinentCount()) {
+                throw new IllegalArgumentException("Unknown continent id " + optionIds[i]);
+            }
+            if (optionIds[i] == correctId) correct = i;
+        }
+        if (correct < 0) {
+            throw new IllegalArgumentException("Options do not include the correct continent");
+        }
+        correctIndex = correct;
+    }
+
+    /**
+     * Samples the continent ids of the options: distinct wrong continents, with the
+     * correct one at a random slot.
+     *
+     * @param index        the catalog's continent index
+     * @param countryIndex the catalog position of the country being asked about
+     * @param optionCount  the total number of options, including the correct one
+     * @param random       the random source
+     * @return the continent id of each option, in display order
+     */
+    private static int[] sampleOptions(ContinentIndex index, int countryIndex, int optionCount, SplittableRandom random) {
+        int correctId = index.getContinentId(countryIndex);
+
+        // Pick the wrong continents from every id except the correct one
+        int[] wrongIds = Sampling.distinct(index.getContinentCount() - 1, optionCount - 1, random);
+        for (int w = 0; w < wrongIds.length; w++) {
+            if (wrongIds[w] >= correctId) wrongIds[w]++;
+        }
+        return withCorrectAt(wrongIds, correctId, random.nextInt(optionCount));
+    }
+
+    /**
+     * Lays out the option continent ids: the wrong ones in order, with the correct one
+     * inserted at the given slot.
+     *
+     * @param wrongIds    the wrong continent ids
+     * @param correctId   the correct continent id
+     * @param correctSlot where the correct option goes, from 0 to {@code wrongIds.length}
+     * @return the continent id of each option, in display order
+     */
+    static int[] withCorrectAt(int[] wrongIds, int correctId, int correctSlot) {
+        int[] ids = new int[wrongIds.length + 1];
+        for (int i = 0, w = 0; i < ids.length; i++) {
+            ids[i] = i == correctSlot ? correctId : wrongIds[w++];
+        }
+        return ids;
+    }
+
+    /**
+     * Returns the catalog the question was built from.
+     *
+     * @return the catalog
+     */
+    public CountryCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Returns the country this question is about, as a new Country object.
+     *
+     * @return the country object
+     */
+    public Country getCountry() {
+        return catalog.get(countryIndex);
+    }
+
+    /**
+     * Returns the name of the country this question is about.
+     *
+     * @return the country name
+     */
+    public String getCountryName() {
+        return catalog.getName(countryIndex);
+    }
+
+    /**
+     * Returns the catalog position of the country this question is about.
+     *
+     * @return the country index
+     */
+    public int getCountryIndex() {
+        return countryIndex;
+    }
+
+    /**
+     * Returns the continent id of each option, in the same order as {@link #getOptions()}.
+     *
+     * @return the option continent ids; not to be modified
+     */
+    public int[] getOptionIds() {
+        return optionIds;
+    }
+
+    /**
+     * Returns the shuffled list of answer options (including the correct one), as a
+     * read-only view that resolves continent ids through the dictionary.
+     *
+     * @return a list of continent options
+     */
+    public List<String> getOptions() {
+        if (options == null) options = new OptionList();
+        return options;
+    }
+
+    /**
+     * Returns the name of one option.
+     *
+     * @param choice the option index
+     * @return the continent name
+     */
+    public String getOption(int choice) {
+        return catalog.getContinentIndex().getContinent(optionIds[choice]);
+    }
+
+    /**
+     * Returns the correct answer for this question.
+     *
+     * @return the correct continent
+     */
+    public String getCorrectAnswer() {
+        return getOption(correctIndex);
+    }
+
+    /**
+     * Returns the position of the correct answer in {@link #getOptions()}.
+     *
+     * @return the correct option index
+     */
+    public int getCorrectIndex() {
+        return correctIndex;
+    }
+
+    /**
+     * Records the option the user picked. Package-private so that answers go through
+     * {@link Quiz#answer(int, int)}, which keeps the running score in step.
+     *
+     * @param choice the picked option index, or {@link #NO_CHOICE}
+     */
+    void setUserChoice(int choice) {
+        userChoice = choice;
+    }
+
+    /**
+     * Returns the option the user picked.
+     *
+     * @return the picked option index, or {@link #NO_CHOICE}
+     */
+    public int getUserChoice() {
+        return userChoice;
+    }
+
+    /**
+     * Checks whether the user's answer is correct.
+     *
+     * @return true if correct, false otherwise
+     */
+    public boolean isCorrect() {
+        return userChoice == correctIndex;
+    }
+
+    /**
+     * Gets the user's selected answer.
+     *
+     * @return the user's answer, or null if none was picked
+     */
+    public String getUserAnswer() {
+        return userChoice == NO_CHOICE ? null : getOption(userChoice);
+    }
+
+    /**
+     * Unmodifiable view of the option names.
+     */
+    private final class OptionList extends AbstractList<String> implements RandomAccess {
+        @Override
+        public String get(int index) {
+            return getOption(index);
+        }
+
+        @Override
+        public int size() {
+            return optionIds.length;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility libraries for the list of shipped packs.
+ */
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A kind of question the quiz can ask about each country, backed by its own
+ * "country,answer" CSV dataset.
+ * <p>
+ * Every pack is loaded into a {@link CountryCatalog} of its own, in which
+ * {@link Country#getContinent()} holds the pack's answer (a continent, a capital, a
+ * region) and the {@link ContinentIndex} is the dictionary of distinct answers that
+ * options are drawn from. Questions, generators and saved quizzes therefore work the
+ * same for every pack. Packs are only descriptors; see {@link QuestionSource} for
+ * loading them.
+ */
+public final class QuestionPack {
+
+    /** Which continent a country is on; the original quiz. */
+    public static final QuestionPack CONTINENTS =
+            new QuestionPack("continents", "country_continent.csv", "Which continent is %s on?");
+
+    /** The capital city of a country. */
+    public static final QuestionPack CAPITALS =
+            new QuestionPack("capitals", "country_capital.csv", "What is the capital of %s?");
+
+    /** The UN geoscheme subregion a country lies in. */
+    public static final QuestionPack REGIONS =
+            new QuestionPack("regions", "country_region.csv", "Which region is %s in?");
+
+    private static final List<QuestionPack> ALL =
+            Collections.unmodifiableList(Arrays.asList(CONTINENTS, CAPITALS, REGIONS));
+
+    private final String id;
+    private final String dataset;
+    private final String promptFormat;
+
+    /**
+     * Constructs a pack descriptor.
+     *
+     * @param id           stable identifier, stored with results
+     * @param dataset      file name of the "country,answer" CSV
+     * @param promptFormat question text, with {@code %s} for the country name
+     */
+    public QuestionPack(String id, String dataset, String promptFormat) {
+        this.id = id;
+        this.dataset = dataset;
+        this.promptFormat = promptFormat;
+    }
+
+    /**
+     * Returns every pack shipped with the app, the default one first.
+     *
+     * @return an unmodifiable list of packs
+     */
+    public static List<QuestionPack> all() {
+        return ALL;
+    }
+
+    /**
+     * Looks up a shipped pack by id.
+     *
+     * @param id the pack id, as returned by {@link #getId()}
+     * @return the pack, or {@link #CONTINENTS} if the id is unknown or null
+     */
+    public static QuestionPack forId(String id) {
+        for (QuestionPack pack : ALL) {
+            if (pack.id.equals(id)) return pack;
+        }
+        return CONTINENTS;
+    }
+
+    /**
+     * Returns the stable identifier of the pack.
+     *
+     * @return the pack id
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Returns the file name of the pack's CSV dataset.
+     *
+     * @return the dataset file name
+     */
+    public String getDataset() {
+        return dataset;
+    }
+
+    /**
+     * Returns the question text for a country.
+     *
+     * @param countryName the country being asked about
+     * @return the prompt
+     */
+    public String prompt(String countryName) {
+        return String.format(promptFormat, countryName);
+    }
+}
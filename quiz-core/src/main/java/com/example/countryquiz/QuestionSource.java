@@ -0,0 +1,30 @@
+package com.example.countryquiz;
+
+/*
+ * Java I/O library for reporting unreadable datasets.
+ */
+import java.io.IOException;
+
+/**
+ * Loads the catalog of one {@link QuestionPack}.
+ * <p>
+ * Sources are only asked to load when their pack is selected, so shipping more packs
+ * costs nothing at startup. Loading does I/O and must not run on the main thread.
+ */
+public interface QuestionSource {
+
+    /**
+     * Returns the pack this source loads.
+     *
+     * @return the pack
+     */
+    QuestionPack getPack();
+
+    /**
+     * Reads the pack's dataset into a fresh catalog.
+     *
+     * @return the catalog, with the pack's answers as the continent column
+     * @throws IOException if the dataset is missing or malformed
+     */
+    CountryCatalog load() throws IOException;
+}
@@ -0,0 +1,154 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility classes for list handling.
+ */
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Represents a full quiz session containing a list of questions.
+ * Handles scoring; the questions are picked by a {@link QuizGenerator}.
+ */
+public class Quiz {
+    private final QuizConfig config;
+    private final long seed;
+    private final List<Question> questions;
+    private int score;
+
+    /**
+     * Constructs a quiz from questions picked by a {@link QuizGenerator}.
+     *
+     * @param config    the configuration the questions were generated for
+     * @param seed      the seed the questions were generated from
+     * @param questions the questions, in the order they are asked
+     */
+    public Quiz(QuizConfig config, long seed, List<Question> questions) {
+        this.config = config;
+        this.seed = seed;
+        this.questions = questions;
+        for (int i = 0; i < questions.size(); i++) {
+            if (questions.get(i).isCorrect()) score++;
+        }
+    }
+
+    /**
+     * Rebuilds a quiz from the compact form kept in saved state and replay intents: one
+     * catalog position per question, the option continent ids of all questions back to
+     * back, and the user's picks. Nothing is sampled, so the restored quiz matches the
+     * saved one.
+     *
+     * @param catalog        the catalog the quiz was generated from
+     * @param config         the configuration the quiz was generated from
+     * @param seed           the seed the quiz was generated from
+     * @param countryIndices the catalog position of each question's country
+     * @param optionIds      the option continent ids, {@code optionIds.length / countryIndices.length} per question
+     * @param choices        the user's pick for each question, or {@link Question#NO_CHOICE}
+     * @throws IllegalArgumentException if the arrays do not describe a quiz over this catalog
+     */
+    public Quiz(CountryCatalog catalog, QuizConfig config, long seed,
+                int[] countryIndices, int[] optionIds, int[] choices) {
+        int n = countryIndices.length;
+        if (n == 0 || choices.length != n || optionIds.length % n != 0) {
+            throw new IllegalArgumentException("Saved quiz arrays do not line up");
+        }
+        this.config = config;
+        this.seed = seed;
+        int optionCount = optionIds.length / n;
+
+        questions = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            if (countryIndices[i] < 0 || countryIndices[i] >= catalog.size()) {
+                throw new IllegalArgumentException("Unknown country index " + countryIndices[i]);
+            }
+            int[] ids = Arrays.copyOfRange(optionIds, i * optionCount, (i + 1) * optionCount);
+            questions.add(new Question(catalog, countryIndices[i], ids));
+            if (choices[i] != Question.NO_CHOICE) {
+                if (choices[i] < 0 || choices[i] >= optionCount) {
+                    throw new IllegalArgumentException("Unknown option " + choices[i]);
+                }
+                answer(i, choices[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the configuration this quiz was generated from.
+     *
+     * @return the quiz configuration
+     */
+    public QuizConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns the seed this quiz was generated from. Passing it back to the same
+     * {@link QuizGenerator} with the same catalog and configuration replays the quiz
+     * while the generator's state is unchanged; {@link #getCountryIndices()} and
+     * {@link #getOptionIds()} replay it exactly.
+     *
+     * @return the generation seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the catalog position of each question's country, in question order.
+     *
+     * @return a new array with one entry per question
+     */
+    public int[] getCountryIndices() {
+        int[] countryIndices = new int[questions.size()];
+        for (int i = 0; i < countryIndices.length; i++) {
+            countryIndices[i] = questions.get(i).getCountryIndex();
+        }
+        return countryIndices;
+    }
+
+    /**
+     * Returns the option continent ids of all questions back to back, in question order.
+     *
+     * @return a new array with {@link Question#getOptionIds()} of every question
+     */
+    public int[] getOptionIds() {
+        int optionCount = questions.isEmpty() ? 0 : questions.get(0).getOptionIds().length;
+        int[] optionIds = new int[questions.size() * optionCount];
+        for (int i = 0; i < questions.size(); i++) {
+            System.arraycopy(questions.get(i).getOptionIds(), 0, optionIds, i * optionCount, optionCount);
+        }
+        return optionIds;
+    }
+
+    /**
+     * Returns the list of generated quiz questions.
+     *
+     * @return list of Question objects
+     */
+    public List<Question> getQuestions() {
+        return questions;
+    }
+
+    /**
+     * Records the user's pick for a question and updates the running score.
+     *
+     * @param questionIndex the position of the question
+     * @param choice        the picked option index, or {@link Question#NO_CHOICE}
+     */
+    public void answer(int questionIndex, int choice) {
+        Question q = questions.get(questionIndex);
+        if (q.isCorrect()) score--;
+        q.setUserChoice(choice);
+        if (q.isCorrect()) score++;
+    }
+
+    /**
+     * Returns the number of correctly answered questions, kept as a running tally.
+     *
+     * @return current quiz score
+     */
+    public int getCurrentScore() {
+        return score;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.countryquiz;
+
+/**
+ * Shape of a quiz: how many questions it asks and how many options each question offers.
+ */
+public final class QuizConfig {
+
+    /** The classic quiz: 6 countries, 3 continents to choose from. */
+    public static final QuizConfig DEFAULT = new QuizConfig(6, 3);
+
+    private final int questionCount;
+    private final int optionCount;
+
+    /**
+     * Constructs a quiz configuration.
+     *
+     * @param questionCount the number of questions, at least 1
+     * @param optionCount   the number of options per question, at least 2
+     */
+    public QuizConfig(int questionCount, int optionCount) {
+        if (questionCount < 1) {
+            throw new IllegalArgumentException("questionCount must be at least 1: " + questionCount);
+        }
+        if (optionCount < 2) {
+            throw new IllegalArgumentException("optionCount must be at least 2: " + optionCount);
+        }
+        this.questionCount = questionCount;
+        this.optionCount = optionCount;
+    }
+
+    /**
+     * Returns the number of questions in the quiz.
+     *
+     * @return the question count
+     */
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    /**
+     * Returns the number of options offered per question.
+     *
+     * @return the option count
+     */
+    public int getOptionCount() {
+        return optionCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof QuizConfig)) return false;
+        QuizConfig other = (QuizConfig) o;
+        return questionCount == other.questionCount && optionCount == other.optionCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * questionCount + optionCount;
+    }
+}
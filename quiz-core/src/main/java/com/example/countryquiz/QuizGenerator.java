@@ -0,0 +1,41 @@
+package com.example.countryquiz;
+
+/*
+ * Java concurrency utility for drawing fresh seeds without a shared random source.
+ */
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Strategy for picking the questions of a new quiz from a catalog.
+ * <p>
+ * Generation is a pure function of the catalog, the configuration, a seed and whatever
+ * state the implementation documents (such as the statistics behind
+ * {@link AdaptiveQuizGenerator}), so a quiz can be replayed from {@link Quiz#getSeed()}
+ * while that state is unchanged. Implementations must be safe to
+ * call from several threads at once, so one instance can be shared by the app's
+ * background prefetcher and by headless load tests.
+ */
+public interface QuizGenerator {
+
+    /**
+     * Generates the quiz for the given seed.
+     *
+     * @param catalog the catalog of all available countries
+     * @param config  the number of questions and options to generate
+     * @param seed    the seed; the same seed, catalog and config give the same quiz
+     * @return a quiz with {@link QuizConfig#getQuestionCount()} unanswered questions
+     */
+    Quiz generate(CountryCatalog catalog, QuizConfig config, long seed);
+
+    /**
+     * Generates a quiz from a fresh seed drawn from the calling thread's
+     * {@link ThreadLocalRandom}, so concurrent callers never contend on a shared seed.
+     *
+     * @param catalog the catalog of all available countries
+     * @param config  the number of questions and options to generate
+     * @return a quiz with {@link QuizConfig#getQuestionCount()} unanswered questions
+     */
+    default Quiz generate(CountryCatalog catalog, QuizConfig config) {
+        return generate(catalog, config, ThreadLocalRandom.current().nextLong());
+    }
+}
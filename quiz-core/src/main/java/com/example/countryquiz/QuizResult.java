@@ -0,0 +1,62 @@
+package com.example.countryquiz;
+
+/**
+ * One stored quiz attempt, as shown in the history list.
+ */
+public final class QuizResult {
+    private final long id;
+    private final long timestamp;
+    private final int score;
+    private final int total;
+
+    /**
+     * Constructs a QuizResult.
+     *
+     * @param id        the row id of the result
+     * @param timestamp when the quiz was finished, in epoch milliseconds
+     * @param score     the number of correct answers
+     * @param total     the number of questions in the quiz
+     */
+    public QuizResult(long id, long timestamp, int score, int total) {
+        this.id = id;
+        this.timestamp = timestamp;
+        this.score = score;
+        this.total = total;
+    }
+
+    /**
+     * Returns the row id of the result.
+     *
+     * @return the row id
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns when the quiz was finished.
+     *
+     * @return the epoch-millisecond timestamp
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the number of correct answers.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the number of questions in the quiz.
+     *
+     * @return the total
+     */
+    public int getTotal() {
+        return total;
+    }
+}
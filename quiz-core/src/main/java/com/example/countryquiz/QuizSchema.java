@@ -0,0 +1,160 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility libraries for the ordered list of schema statements.
+ */
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Table and column names and the SQL of the quiz database's latest schema.
+ * <p>
+ * Kept in the pure-Java core so that the app's {@code CountryQuizDBHelper} and the JVM
+ * benchmarks create the database from the same statements; the helper's migrations
+ * bring older databases to the same shape.
+ */
+public final class QuizSchema {
+
+    // Table and column names for countries
+    public static final String TABLE_COUNTRIES = "countries";
+    public static final String COLUMN_ID = "_id";
+    public static final String COLUMN_NAME = "name";
+    public static final String COLUMN_CONTINENT = "continent";
+
+    // Table and column names for quizzes
+    public static final String TABLE_QUIZZES = "quizzes";
+    public static final String COLUMN_QUIZ_ID = "_id";
+    public static final String COLUMN_QUIZ_DATE = "date";
+    public static final String COLUMN_SCORE = "score";
+    public static final String COLUMN_TOTAL = "total";
+    public static final String COLUMN_TIMESTAMP = "timestamp";
+    public static final String COLUMN_SESSION_ID = "session_id";
+    public static final String COLUMN_OPTION_COUNT = "option_count";
+    public static final String COLUMN_SEED = "seed";
+    public static final String COLUMN_PACK = "pack";
+
+    // Table and column names for per-answer telemetry
+    public static final String TABLE_ANSWERS = "answers";
+    public static final String COLUMN_ANSWER_ID = "_id";
+    public static final String COLUMN_QUESTION_INDEX = "question_index";
+    public static final String COLUMN_ANSWER_COUNTRY = "country";
+    public static final String COLUMN_CHOSEN_OPTION = "chosen_option";
+    public static final String COLUMN_CORRECT = "correct";
+    public static final String COLUMN_ANSWER_MS = "answer_ms";
+    public static final String COLUMN_ANSWERED_AT = "answered_at";
+
+    // Running answer totals per country, behind adaptive difficulty
+    public static final String TABLE_COUNTRY_STATS = "country_stats";
+    public static final String COLUMN_STATS_COUNTRY = "country";
+    public static final String COLUMN_ATTEMPTS = "attempts";
+    public static final String COLUMN_ERRORS = "errors";
+
+    // How often each wrong continent was picked for a country on another
+    public static final String TABLE_CONFUSION = "continent_confusion";
+    public static final String COLUMN_CORRECT_CONTINENT = "correct_continent";
+    public static final String COLUMN_CHOSEN_CONTINENT = "chosen_continent";
+    public static final String COLUMN_CONFUSION_COUNT = "count";
+
+    // Spaced-repetition (SM-2) state per country
+    public static final String TABLE_REVIEW_SCHEDULE = "review_schedule";
+    public static final String COLUMN_REVIEW_COUNTRY = "country";
+    public static final String COLUMN_EASE = "ease";
+    public static final String COLUMN_INTERVAL_DAYS = "interval_days";
+    public static final String COLUMN_REPETITIONS = "repetitions";
+    public static final String COLUMN_DUE = "due";
+
+    // Table and column names for key/value metadata (e.g. the imported CSV fingerprint)
+    public static final String TABLE_METADATA = "metadata";
+    public static final String COLUMN_KEY = "key";
+    public static final String COLUMN_VALUE = "value";
+
+    public static final String CREATE_COUNTRIES = "CREATE TABLE " + TABLE_COUNTRIES + " ("
+            + COLUMN_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + COLUMN_NAME + " TEXT, "
+            + COLUMN_CONTINENT + " TEXT)";
+
+    public static final String CREATE_QUIZZES = "CREATE TABLE " + TABLE_QUIZZES + " ("
+            + COLUMN_QUIZ_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + COLUMN_QUIZ_DATE + " TEXT, "
+            + COLUMN_SCORE + " INTEGER, "
+            + COLUMN_TOTAL + " INTEGER NOT NULL DEFAULT 6, "
+            + COLUMN_TIMESTAMP + " INTEGER, "
+            + COLUMN_SESSION_ID + " INTEGER, "
+            + COLUMN_OPTION_COUNT + " INTEGER, "
+            + COLUMN_SEED + " INTEGER, "
+            + COLUMN_PACK + " TEXT NOT NULL DEFAULT '" + QuestionPack.CONTINENTS.getId() + "')";
+
+    public static final String CREATE_METADATA = "CREATE TABLE " + TABLE_METADATA + " ("
+            + COLUMN_KEY + " TEXT PRIMARY KEY, "
+            + COLUMN_VALUE + " TEXT)";
+
+    public static final String CREATE_ANSWERS = "CREATE TABLE " + TABLE_ANSWERS + " ("
+            + COLUMN_ANSWER_ID + " INTEGER PRIMARY KEY AUTOINCREMENT, "
+            + COLUMN_SESSION_ID + " INTEGER, "
+            + COLUMN_QUESTION_INDEX + " INTEGER, "
+            + COLUMN_ANSWER_COUNTRY + " TEXT, "
+            + COLUMN_CHOSEN_OPTION + " INTEGER, "
+            + COLUMN_CORRECT + " INTEGER, "
+            + COLUMN_ANSWER_MS + " INTEGER, "
+            + COLUMN_ANSWERED_AT + " INTEGER)";
+
+    // One row per pick: batches replayed from saved state after process death are ignored
+    public static final String CREATE_ANSWERS_EVENT_INDEX = "CREATE UNIQUE INDEX idx_answers_event ON "
+            + TABLE_ANSWERS + " (" + COLUMN_SESSION_ID + ", " + COLUMN_QUESTION_INDEX + ", " + COLUMN_ANSWERED_AT + ")";
+
+    public static final String CREATE_COUNTRY_STATS = "CREATE TABLE " + TABLE_COUNTRY_STATS + " ("
+            + COLUMN_STATS_COUNTRY + " TEXT PRIMARY KEY, "
+            + COLUMN_ATTEMPTS + " INTEGER NOT NULL DEFAULT 0, "
+            + COLUMN_ERRORS + " INTEGER NOT NULL DEFAULT 0)";
+
+    public static final String CREATE_CONFUSION = "CREATE TABLE " + TABLE_CONFUSION + " ("
+            + COLUMN_CORRECT_CONTINENT + " TEXT NOT NULL, "
+            + COLUMN_CHOSEN_CONTINENT + " TEXT NOT NULL, "
+            + COLUMN_CONFUSION_COUNT + " INTEGER NOT NULL DEFAULT 0, "
+            + "PRIMARY KEY (" + COLUMN_CORRECT_CONTINENT + ", " + COLUMN_CHOSEN_CONTINENT + "))";
+
+    public static final String CREATE_REVIEW_SCHEDULE = "CREATE TABLE " + TABLE_REVIEW_SCHEDULE + " ("
+            + COLUMN_REVIEW_COUNTRY + " TEXT PRIMARY KEY, "
+            + COLUMN_EASE + " REAL NOT NULL, "
+            + COLUMN_INTERVAL_DAYS + " INTEGER NOT NULL, "
+            + COLUMN_REPETITIONS + " INTEGER NOT NULL, "
+            + COLUMN_DUE + " INTEGER NOT NULL)";
+
+    // Review quizzes read the "due before now" range of this index, oldest first
+    public static final String CREATE_REVIEW_DUE_INDEX = "CREATE INDEX idx_review_due ON "
+            + TABLE_REVIEW_SCHEDULE + " (" + COLUMN_DUE + ")";
+
+    // Keyset pagination over history walks this index newest first
+    public static final String CREATE_QUIZZES_TIMESTAMP_INDEX = "CREATE INDEX idx_quizzes_timestamp ON "
+            + TABLE_QUIZZES + " (" + COLUMN_TIMESTAMP + ", " + COLUMN_QUIZ_ID + ")";
+
+    public static final String CREATE_COUNTRIES_CONTINENT_INDEX = "CREATE INDEX idx_countries_continent ON "
+            + TABLE_COUNTRIES + " (" + COLUMN_CONTINENT + ")";
+
+    private static final List<String> CREATE_STATEMENTS = Collections.unmodifiableList(Arrays.asList(
+            CREATE_COUNTRIES,
+            CREATE_COUNTRIES_CONTINENT_INDEX,
+            CREATE_QUIZZES,
+            CREATE_QUIZZES_TIMESTAMP_INDEX,
+            CREATE_METADATA,
+            CREATE_ANSWERS,
+            CREATE_ANSWERS_EVENT_INDEX,
+            CREATE_COUNTRY_STATS,
+            CREATE_CONFUSION,
+            CREATE_REVIEW_SCHEDULE,
+            CREATE_REVIEW_DUE_INDEX));
+
+    private QuizSchema() {
+    }
+
+    /**
+     * Returns the statements that create the latest schema in an empty database, in the
+     * order they must run.
+     *
+     * @return the CREATE TABLE and CREATE INDEX statements
+     */
+    public static List<String> createStatements() {
+        return CREATE_STATEMENTS;
+    }
+}
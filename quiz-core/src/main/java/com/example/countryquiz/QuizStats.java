@@ -0,0 +1,95 @@
+package com.example.countryquiz;
+
+/**
+ * Aggregate statistics over the whole quiz history, computed in SQL.
+ */
+public final class QuizStats {
+    private final int quizCount;
+    private final double bestPercent;
+    private final double averagePercent;
+    private final int currentStreakDays;
+    private final int longestStreakDays;
+
+    /**
+     * Constructs a QuizStats.
+     *
+     * @param quizCount         the number of quizzes played
+     * @param bestPercent       the best score, as a percentage of the questions asked
+     * @param averagePercent    the average score, as a percentage of the questions asked
+     * @param currentStreakDays consecutive days played, ending today or yesterday
+     * @param longestStreakDays the longest run of consecutive days played
+     */
+    public QuizStats(int quizCount, double bestPercent, double averagePercent,
+                     int currentStreakDays, int longestStreakDays) {
+        this.quizCount = quizCount;
+        this.bestPercent = bestPercent;
+        this.averagePercent = averagePercent;
+        this.currentStreakDays = currentStreakDays;
+        this.longestStreakDays = longestStreakDays;
+    }
+
+    /**
+     * Computes the current and longest streaks from distinct day numbers,
+     * sorted newest first.
+     *
+     * @param daysDescending distinct day numbers, newest first
+     * @param today          today's day number
+     * @return {current streak, longest streak}
+     */
+    static int[] streaks(long[] daysDescending, long today) {
+        int current = 0, longest = 0, run = 0;
+        boolean inCurrent = daysDescending.length > 0 && today - daysDescending[0] <= 1;
+        for (int i = 0; i < daysDescending.length; i++) {
+            run = i > 0 && daysDescending[i - 1] - daysDescending[i] == 1 ? run + 1 : 1;
+            if (run == 1 && i > 0) inCurrent = false;
+            if (inCurrent) current = run;
+            longest = Math.max(longest, run);
+        }
+        return new int[]{current, longest};
+    }
+
+    /**
+     * Returns the number of quizzes played.
+     *
+     * @return the quiz count
+     */
+    public int getQuizCount() {
+        return quizCount;
+    }
+
+    /**
+     * Returns the best score as a percentage.
+     *
+     * @return the best percentage, from 0 to 100
+     */
+    public double getBestPercent() {
+        return bestPercent;
+    }
+
+    /**
+     * Returns the average score as a percentage.
+     *
+     * @return the average percentage, from 0 to 100
+     */
+    public double getAveragePercent() {
+        return averagePercent;
+    }
+
+    /**
+     * Returns the number of consecutive days played, ending today or yesterday.
+     *
+     * @return the current streak in days
+     */
+    public int getCurrentStreakDays() {
+        return currentStreakDays;
+    }
+
+    /**
+     * Returns the longest run of consecutive days played.
+     *
+     * @return the longest streak in days
+     */
+    public int getLongestStreakDays() {
+        return longestStreakDays;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility classes for list handling, duplicate tracking and seeded sampling.
+ */
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Builds a spaced-repetition review: the countries whose {@link ReviewSchedule} is due,
+ * most overdue first, topped up with uniformly picked countries when fewer are due
+ * than the quiz has questions.
+ * <p>
+ * The due list is looked up by the caller (an indexed range query on the due time), so
+ * generation only touches the due positions and the top-up picks. Options are sampled
+ * as in {@link UniformQuizGenerator}. A quiz depends on the due list as well as its
+ * seed. Immutable and thread-safe.
+ */
+public final class ReviewQuizGenerator implements QuizGenerator {
+    private final CountryCatalog catalog;
+    private final int[] dueCountries;
+
+    /**
+     * Constructs a generator for the given due countries.
+     *
+     * @param catalog      the catalog the positions refer to
+     * @param dueCountries catalog positions of the due countries, most overdue first
+     */
+    public ReviewQuizGenerator(CountryCatalog catalog, int[] dueCountries) {
+        this.catalog = catalog;
+        this.dueCountries = dueCountries.clone();
+    }
+
+    /**
+     * Returns how many countries are due.
+     *
+     * @return the due count
+     */
+    public int getDueCount() {
+        return dueCountries.length;
+    }
+
+    @Override
+    public Quiz generate(CountryCatalog catalog, QuizConfig config, long seed) {
+        if (catalog != this.catalog) {
+            throw new IllegalArgumentException("Due countries belong to another catalog");
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        int optionCount = Math.min(config.getOptionCount(), catalog.getContinentIndex().getContinentCount());
+        int count = config.getQuestionCount();
+
+        List<Question> questions = new ArrayList<>(count);
+        Set<Integer> used = new HashSet<>();
+        for (int i = 0; i < dueCountries.length && questions.size() < count; i++) {
+            if (used.add(dueCountries[i])) {
+                questions.add(new Question(catalog, dueCountries[i], optionCount, random));
+            }
+        }
+
+        // Top up with countries not asked yet; a batch this large always holds enough
+        while (questions.size() < count) {
+            int batch = Math.min(count - questions.size() + used.size(), catalog.size());
+            for (int countryIndex : Sampling.distinct(catalog.size(), batch, random)) {
+                if (questions.size() == count) break;
+                if (used.add(countryIndex)) {
+                    questions.add(new Question(catalog, countryIndex, optionCount, random));
+                }
+            }
+            // Every country has been asked; let them repeat
+            if (used.size() == catalog.size()) used.clear();
+        }
+        return new Quiz(config, seed, questions);
+    }
+}
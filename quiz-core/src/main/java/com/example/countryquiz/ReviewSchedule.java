@@ -0,0 +1,123 @@
+package com.example.countryquiz;
+
+/**
+ * Spaced-repetition state of one country, updated with the SM-2 algorithm.
+ * <p>
+ * Each review is graded from 0 (blackout) to 5 (perfect). A grade below 3 sends the
+ * country back to a one-day interval; otherwise the interval goes 1 day, 6 days, then
+ * grows by the ease factor, which itself rises or falls with the grade. Immutable.
+ */
+public final class ReviewSchedule {
+    /** Ease factor of a country that has never been reviewed. */
+    public static final double INITIAL_EASE = 2.5;
+    /** Lowest ease factor SM-2 allows. */
+    public static final double MIN_EASE = 1.3;
+
+    static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+
+    private static final ReviewSchedule NEW = new ReviewSchedule(INITIAL_EASE, 0, 0, 0);
+
+    private final double ease;
+    private final int intervalDays;
+    private final int repetitions;
+    private final long due;
+
+    /**
+     * Constructs a ReviewSchedule.
+     *
+     * @param ease         the ease factor, at least {@link #MIN_EASE}
+     * @param intervalDays the days until the next review
+     * @param repetitions  the number of passing reviews in a row
+     * @param due          when the next review is due, in epoch milliseconds
+     */
+    public ReviewSchedule(double ease, int intervalDays, int repetitions, long due) {
+        this.ease = ease;
+        this.intervalDays = intervalDays;
+        this.repetitions = repetitions;
+        this.due = due;
+    }
+
+    /**
+     * Returns the state of a country that has never been reviewed.
+     *
+     * @return the initial schedule
+     */
+    public static ReviewSchedule initial() {
+        return NEW;
+    }
+
+    /**
+     * Grades an answer: wrong answers score 1, right ones 5, 4 or 3 depending on how
+     * long the player took.
+     *
+     * @param correct      whether the answer was right
+     * @param answerMillis the time taken to answer, in milliseconds
+     * @return the SM-2 grade, from 0 to 5
+     */
+    public static int grade(boolean correct, long answerMillis) {
+        if (!correct) return 1;
+        if (answerMillis < 3_000) return 5;
+        if (answerMillis < 8_000) return 4;
+        return 3;
+    }
+
+    /**
+     * Returns the schedule after a review.
+     *
+     * @param grade the SM-2 grade, from 0 to 5
+     * @param now   when the review happened, in epoch milliseconds
+     * @return the updated schedule
+     */
+    public ReviewSchedule review(int grade, long now) {
+        int miss = 5 - grade;
+        double nextEase = Math.max(MIN_EASE, ease + 0.1 - miss * (0.08 + miss * 0.02));
+        int nextRepetitions;
+        int nextInterval;
+        if (grade < 3) {
+            nextRepetitions = 0;
+            nextInterval = 1;
+        } else {
+            nextRepetitions = repetitions + 1;
+            nextInterval = repetitions == 0 ? 1
+                    : repetitions == 1 ? 6
+                    : (int) Math.round(intervalDays * ease);
+        }
+        return new ReviewSchedule(nextEase, nextInterval, nextRepetitions, now + nextInterval * DAY_MILLIS);
+    }
+
+    /**
+     * Returns the ease factor.
+     *
+     * @return the ease factor
+     */
+    public double getEase() {
+        return ease;
+    }
+
+    /**
+     * Returns the days until the next review.
+     *
+     * @return the interval in days
+     */
+    public int getIntervalDays() {
+        return intervalDays;
+    }
+
+    /**
+     * Returns the number of passing reviews in a row.
+     *
+     * @return the repetition count
+     */
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    /**
+     * Returns when the next review is due.
+     *
+     * @return the due time, in epoch milliseconds
+     */
+    public long getDue() {
+        return due;
+    }
+}
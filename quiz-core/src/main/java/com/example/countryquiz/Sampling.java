@@ -0,0 +1,56 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility libraries for random numbers and sparse swap tracking.
+ */
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Random sampling helpers used by quiz generation.
+ */
+public final class Sampling {
+    private static final int DENSE_LIMIT = 64;
+
+    private Sampling() {
+    }
+
+    /**
+     * Picks {@code k} distinct values from {@code [0, n)} in random order using a partial
+     * Fisher–Yates shuffle. Large ranges track only the swapped slots, so the cost is
+     * O(k) no matter how big {@code n} is.
+     *
+     * @param n      the size of the range
+     * @param k      how many values to pick; must not exceed {@code n}
+     * @param random the random source
+     * @return the picked values
+     */
+    public static int[] distinct(int n, int k, SplittableRandom random) {
+        if (k > n) {
+            throw new IllegalArgumentException("Cannot pick " + k + " distinct values from " + n);
+        }
+        int[] picked = new int[k];
+
+        if (n <= DENSE_LIMIT) {
+            int[] values = new int[n];
+            for (int i = 0; i < n; i++) values[i] = i;
+            for (int i = 0; i < k; i++) {
+                int j = i + random.nextInt(n - i);
+                picked[i] = values[j];
+                values[j] = values[i];
+            }
+            return picked;
+        }
+
+        Map<Integer, Integer> swapped = new HashMap<>(k * 2);
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            Integer atJ = swapped.get(j);
+            Integer atI = swapped.get(i);
+            picked[i] = atJ != null ? atJ : j;
+            swapped.put(j, atI != null ? atI : i);
+        }
+        return picked;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility classes for list handling and seeded random sampling.
+ */
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Picks every country with the same probability.
+ * <p>
+ * Distinct countries are sampled from the catalog and one question is generated for
+ * each. Only the sampled positions are touched, so the cost does not grow with the
+ * size of the catalog. When more questions are asked for than the catalog holds,
+ * countries repeat once every country has been used.
+ * <p>
+ * Every quiz draws from its own {@link SplittableRandom} seeded with the quiz seed, so
+ * generation shares no mutable state between threads. Stateless and thread-safe.
+ */
+public final class UniformQuizGenerator implements QuizGenerator {
+
+    @Override
+    public Quiz generate(CountryCatalog catalog, QuizConfig config, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int optionCount = Math.min(config.getOptionCount(), catalog.getContinentIndex().getContinentCount());
+
+        List<Question> questions = new ArrayList<>(config.getQuestionCount());
+        while (questions.size() < config.getQuestionCount()) {
+            int batch = Math.min(config.getQuestionCount() - questions.size(), catalog.size());
+            for (int countryIndex : Sampling.distinct(catalog.size(), batch, random)) {
+                questions.add(new Question(catalog, countryIndex, optionCount, random));
+            }
+        }
+        return new Quiz(config, seed, questions);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.countryquiz;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the array-backed country catalog and its continent dictionary.
+ */
+public class CountryCatalogTest {
+
+    private static CountryCatalog catalog() {
+        return new CountryCatalog(
+                new String[]{"Kenya", "France", "Japan", "Chad"},
+                new String[]{"Africa", "Europe", "Asia", new String("Africa")});
+    }
+
+    @Test
+    public void continents_areSharedDictionaryEntries() {
+        CountryCatalog catalog = catalog();
+        ContinentIndex index = catalog.getContinentIndex();
+        assertEquals(3, index.getContinentCount());
+        assertEquals(index.getContinentId(0), index.getContinentId(3));
+        assertSame(catalog.getContinent(0), catalog.getContinent(3));
+        assertEquals(2, index.getCountryCount(index.getContinentId(0)));
+    }
+
+    @Test
+    public void continentIds_followSortedNames() {
+        ContinentIndex index = catalog().getContinentIndex();
+        assertEquals("Africa", index.getContinent(0));
+        assertEquals("Asia", index.getContinent(1));
+        assertEquals("Europe", index.getContinent(2));
+        assertEquals(2, index.getContinentId(1));
+    }
+
+    @Test
+    public void indexOf_findsEveryNameAndRejectsUnknown() {
+        CountryCatalog catalog = catalog();
+        for (int i = 0; i < catalog.size(); i++) {
+            assertEquals(i, catalog.indexOf(catalog.getName(i)));
+        }
+        assertEquals(-1, catalog.indexOf("Atlantis"));
+    }
+
+    @Test
+    public void countries_areMaterializedOnAccess() {
+        CountryCatalog catalog = catalog();
+        Country japan = catalog.getCountries().get(2);
+        assertEquals("Japan", japan.getName());
+        assertEquals("Asia", japan.getContinent());
+        assertEquals(4, catalog.getCountries().size());
+    }
+
+    @Test
+    public void question_resolvesOptionsFromIds() {
+        CountryCatalog catalog = catalog();
+        Question q = new Question(catalog, 1, new int[]{0, 2, 1});
+        assertEquals("France", q.getCountryName());
+        assertEquals(Arrays.asList("Africa", "Europe", "Asia"), q.getOptions());
+        assertEquals("Europe", q.getCorrectAnswer());
+        assertEquals(1, q.getCorrectIndex());
+    }
+
+    @Test
+    public void continentIndex_holdsOneAnswerPerCountry() {
+        String[] names = new String[1000];
+        for (int i = 0; i < names.length; i++) names[i] = "C" + i;
+        CountryCatalog catalog = new CountryCatalog(names, names);
+        ContinentIndex index = catalog.getContinentIndex();
+        assertEquals(1000, index.getContinentCount());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], catalog.getContinent(i));
+            assertEquals(i, index.getCountryOn(index.getContinentId(i), 0));
+        }
+    }
+}
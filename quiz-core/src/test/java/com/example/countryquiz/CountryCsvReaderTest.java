@@ -0,0 +1,115 @@
+package com.example.countryquiz;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the streaming country CSV parser.
+ */
+public class CountryCsvReaderTest {
+
+    private static List<Country> parse(String csv) throws IOException {
+        return CountryCsvReader.readAll(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<String> badRows(String csv) throws IOException {
+        List<String> bad = new ArrayList<>();
+        CountryCsvReader.read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)),
+                new CountryCsvReader.Handler() {
+                    @Override
+                    public void onCountry(int line, String name, String continent) {
+                    }
+
+                    @Override
+                    public void onBadRow(int line, String reason) {
+                        bad.add(line + ": " + reason);
+                    }
+                });
+        return bad;
+    }
+
+    @Test
+    public void readAll_trimsFieldsAndHandlesLineEndings() throws IOException {
+        List<Country> countries = parse("\uFEFFFrance , Europe\r\n\r\n  Japan,Asia\nKenya,Africa");
+        assertEquals(3, countries.size());
+        assertEquals("France", countries.get(0).getName());
+        assertEquals("Europe", countries.get(0).getContinent());
+        assertEquals("Japan", countries.get(1).getName());
+        assertEquals("Kenya", countries.get(2).getName());
+        assertEquals("Africa", countries.get(2).getContinent());
+    }
+
+    @Test
+    public void readAll_handlesQuotedFields() throws IOException {
+        List<Country> countries = parse("\"Korea, Republic of\",Asia\n\"Côte d'Ivoire \"\"CI\"\"\",Africa\n\"Two\nLines\",Europe\n");
+        assertEquals(3, countries.size());
+        assertEquals("Korea, Republic of", countries.get(0).getName());
+        assertEquals("Côte d'Ivoire \"CI\"", countries.get(1).getName());
+        assertEquals("Two\nLines", countries.get(2).getName());
+    }
+
+    @Test
+    public void readAll_sharesContinentStrings() throws IOException {
+        List<Country> countries = parse("A,Europe\nB,Asia\nC,Europe\n");
+        assertSame(countries.get(0).getContinent(), countries.get(2).getContinent());
+    }
+
+    @Test
+    public void read_reportsBadRowsWithLineNumbers() throws IOException {
+        List<String> bad = badRows("France,Europe\nNowhere\n,Asia\n\"Multi\nline\",\nSpain,Europe\n\"Open,Asia\n");
+        assertEquals(4, bad.size());
+        assertTrue(bad.get(0).startsWith("2: "));
+        assertTrue(bad.get(1).startsWith("3: "));
+        assertTrue(bad.get(2).startsWith("4: "));
+        assertTrue(bad.get(3).startsWith("7: "));
+    }
+
+    @Test
+    public void readDistinct_keepsFirstOfRepeatedNames() throws IOException {
+        List<String> kept = new ArrayList<>();
+        List<String> bad = new ArrayList<>();
+        CountryCsvReader.readDistinct(new ByteArrayInputStream("France,Europe\nJapan,Asia\nFrance,Asia\n".getBytes(StandardCharsets.UTF_8)),
+                new CountryCsvReader.Handler() {
+                    @Override
+                    public void onCountry(int line, String name, String continent) {
+                        kept.add(name + "/" + continent);
+                    }
+
+                    @Override
+                    public void onBadRow(int line, String reason) {
+                        bad.add(line + ": " + reason);
+                    }
+                });
+        assertEquals(Arrays.asList("France/Europe", "Japan/Asia"), kept);
+        assertEquals(Collections.singletonList("3: duplicate country France"), bad);
+    }
+
+    @Test
+    public void readAll_failsOnMalformedRow() {
+        try {
+            parse("France,Europe\nNowhere\n");
+            fail("expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("line 2"));
+        }
+    }
+
+    @Test
+    public void readAll_spansChunkBoundaries() throws IOException {
+        StringBuilder csv = new StringBuilder();
+        int rows = CountryCsvReader.CHUNK_SIZE / 10 + 7;
+        for (int i = 0; i < rows; i++) csv.append("\"C,").append(i).append("\",Oceania\n");
+        List<Country> countries = parse(csv.toString());
+        assertEquals(rows, countries.size());
+        assertEquals("C," + (rows - 1), countries.get(rows - 1).getName());
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.countryquiz;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static com.example.countryquiz.TestCatalogs.catalog;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the Fenwick tree, the answer statistics and adaptive generation.
+ */
+public class DifficultyModelTest {
+
+    @Test
+    public void fenwick_prefixSumsAndFindFollowUpdates() {
+        FenwickTree tree = new FenwickTree(new long[]{3, 0, 5, 1, 2, 4, 0});
+        assertEquals(15, tree.total());
+        assertEquals(8, tree.prefixSum(3));
+        assertEquals(0, tree.find(0));
+        assertEquals(0, tree.find(2));
+        assertEquals(2, tree.find(3));
+        assertEquals(5, tree.find(14));
+
+        tree.set(1, 6);
+        tree.set(5, 0);
+        assertEquals(17, tree.total());
+        assertEquals(9, tree.prefixSum(2));
+        assertEquals(1, tree.find(3));
+        assertEquals(4, tree.find(16));
+    }
+
+    @Test
+    public void weight_growsWithErrorRateAndKeepsFloor() {
+        assertEquals(500, DifficultyModel.weight(0, 0));
+        assertTrue(DifficultyModel.weight(10, 9) > DifficultyModel.weight(10, 1));
+        assertEquals(DifficultyModel.MIN_WEIGHT, DifficultyModel.weight(1000, 0));
+    }
+
+    @Test
+    public void recordAnswer_updatesWeightAndConfusion() {
+        CountryCatalog catalog = catalog(12);
+        DifficultyModel model = new DifficultyModel(catalog);
+        int correctId = catalog.getContinentIndex().getContinentId(4);
+        int wrongId = (correctId + 1) % 6;
+
+        model.recordAnswer(4, wrongId);
+        model.recordAnswer(4, wrongId);
+        model.recordAnswer(4, correctId);
+        assertEquals(3, model.getAttempts(4));
+        assertEquals(2, model.getErrors(4));
+        assertEquals(DifficultyModel.weight(3, 2), model.getWeight(4));
+
+        // The confused continent now outweighs the rest as a distractor
+        SplittableRandom random = new SplittableRandom(42);
+        int hits = 0;
+        for (int i = 0; i < 10_000; i++) {
+            int[] wrong = model.sampleWrongContinents(correctId, 1, random);
+            assertNotEquals(correctId, wrong[0]);
+            if (wrong[0] == wrongId) hits++;
+        }
+        // Weight 4 of a total 12 is a third of the draws
+        assertTrue(hits > 3000 && hits < 3700);
+    }
+
+    @Test
+    public void sampleCountries_isDistinctAndFavoursHardCountries() {
+        CountryCatalog catalog = catalog(100);
+        DifficultyModel model = new DifficultyModel(catalog);
+        for (int i = 0; i < 100; i++) {
+            model.setCountryStats(i, 50, i == 7 ? 50 : 0);
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        int hits = 0;
+        for (int round = 0; round < 1000; round++) {
+            int[] picked = model.sampleCountries(6, random);
+            Set<Integer> seen = new HashSet<>();
+            for (int index : picked) {
+                assertTrue(seen.add(index));
+                if (index == 7) hits++;
+            }
+        }
+        // Uniform sampling would pick it about 60 times
+        assertTrue(hits > 300);
+        // Drawn weights are restored afterwards
+        assertEquals(DifficultyModel.weight(50, 50), model.getWeight(7));
+    }
+
+    @Test
+    public void adaptive_sameSeedAndStatsReplayQuiz() {
+        CountryCatalog catalog = catalog(194);
+        DifficultyModel model = new DifficultyModel(catalog);
+        model.recordAnswer(3, 0);
+        AdaptiveQuizGenerator generator = new AdaptiveQuizGenerator(model);
+
+        Quiz first = generator.generate(catalog, new QuizConfig(20, 4), 99L);
+        Quiz replay = generator.generate(catalog, new QuizConfig(20, 4), 99L);
+        for (int i = 0; i < 20; i++) {
+            Question q = first.getQuestions().get(i);
+            assertEquals(q.getCountryIndex(), replay.getQuestions().get(i).getCountryIndex());
+            assertArrayEquals(q.getOptionIds(), replay.getQuestions().get(i).getOptionIds());
+            assertEquals(4, new HashSet<>(q.getOptions()).size());
+            assertTrue(q.getOptions().contains(q.getCountry().getContinent()));
+        }
+    }
+
+    @Test
+    public void adaptive_layoutReplaysAfterStatsMove() {
+        CountryCatalog catalog = catalog(30);
+        DifficultyModel model = new DifficultyModel(catalog);
+        Quiz original = new AdaptiveQuizGenerator(model).generate(catalog, QuizConfig.DEFAULT, 11L);
+        for (int i = 0; i < catalog.size(); i++) {
+            model.recordAnswer(i, (catalog.getContinentIndex().getContinentId(i) + 1) % 6);
+        }
+
+        int[] choices = new int[QuizConfig.DEFAULT.getQuestionCount()];
+        Arrays.fill(choices, Question.NO_CHOICE);
+        Quiz replay = new Quiz(catalog, QuizConfig.DEFAULT, original.getSeed(),
+                original.getCountryIndices(), original.getOptionIds(), choices);
+        for (int i = 0; i < choices.length; i++) {
+            Question q = original.getQuestions().get(i);
+            assertEquals(q.getCountryIndex(), replay.getQuestions().get(i).getCountryIndex());
+            assertArrayEquals(q.getOptionIds(), replay.getQuestions().get(i).getOptionIds());
+        }
+    }
+
+    @Test
+    public void adaptive_handlesOneAnswerPerCountry() {
+        String[] names = new String[500];
+        for (int i = 0; i < names.length; i++) names[i] = "C" + i;
+        CountryCatalog catalog = new CountryCatalog(names, names);
+        DifficultyModel model = new DifficultyModel(catalog);
+        model.recordAnswer(0, 1);
+
+        Quiz quiz = new AdaptiveQuizGenerator(model).generate(catalog, new QuizConfig(20, 4), 3L);
+        for (Question q : quiz.getQuestions()) {
+            assertEquals(4, new HashSet<>(q.getOptions()).size());
+            assertTrue(q.getOptions().contains(q.getCountry().getContinent()));
+        }
+    }
+
+    @Test
+    public void adaptive_fallsBackToUniformForOtherCatalog() {
+        CountryCatalog catalog = catalog(30);
+        AdaptiveQuizGenerator generator = new AdaptiveQuizGenerator(new DifficultyModel(catalog(30)));
+        Quiz adaptive = generator.generate(catalog, QuizConfig.DEFAULT, 5L);
+        Quiz uniform = new UniformQuizGenerator().generate(catalog, QuizConfig.DEFAULT, 5L);
+        for (int i = 0; i < QuizConfig.DEFAULT.getQuestionCount(); i++) {
+            assertEquals(uniform.getQuestions().get(i).getCountryIndex(), adaptive.getQuestions().get(i).getCountryIndex());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.countryquiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the metrics registry and its latency histogram.
+ */
+public class MetricsTest {
+
+    @Test
+    public void histogram_bucketBoundsCoverEveryValue() {
+        for (long value : new long[]{0, 1, 63, 64, 65, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(bucket));
+            assertTrue(bucket == 0 || value > LatencyHistogram.upperBoundOf(bucket - 1));
+        }
+    }
+
+    @Test
+    public void histogram_percentilesWithinBucketError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000_000, histogram.getMax());
+        assertEquals(5_000_000, histogram.getPercentile(50), 5_000_000 / 32.0);
+        assertEquals(9_900_000, histogram.getPercentile(99), 9_900_000 / 32.0);
+    }
+
+    @Test
+    public void counters_accumulateAndReset() {
+        Metrics metrics = new Metrics();
+        metrics.increment("a", 2);
+        metrics.increment("a", 3);
+        assertEquals(5, metrics.getCount("a"));
+        assertEquals(0, metrics.getCount("b"));
+
+        metrics.reset();
+        assertEquals(0, metrics.getCount("a"));
+        assertEquals(0, metrics.getLatencies("x").getCount());
+    }
+
+    @Test
+    public void toJson_sortsKeysAndReportsMicroseconds() {
+        Metrics metrics = new Metrics();
+        metrics.increment("z.count", 1);
+        metrics.increment("a.count", 7);
+        metrics.recordNanos("load", 64_000);
+        metrics.recordNanos("say \"hi\"", 0);
+        assertEquals("{\"counters\":{\"a.count\":7,\"z.count\":1},\"latencies\":{"
+                        + "\"load\":{\"count\":1,\"p50Us\":64.0,\"p90Us\":64.0,\"p99Us\":64.0,\"maxUs\":64.0},"
+                        + "\"say \\\"hi\\\"\":{\"count\":1,\"p50Us\":0.0,\"p90Us\":0.0,\"p99Us\":0.0,\"maxUs\":0.0}}}",
+                metrics.toJson());
+    }
+
+    @Test
+    public void quizGeneration_dumpsLatencies() {
+        CountryCatalog catalog = TestCatalogs.catalog(200);
+        QuizGenerator generator = new UniformQuizGenerator();
+        Metrics metrics = new Metrics();
+        for (long seed = 0; seed < 1000; seed++) {
+            long start = System.nanoTime();
+            Quiz quiz = generator.generate(catalog, QuizConfig.DEFAULT, seed);
+            metrics.recordSince("Quiz.generate", start);
+            metrics.increment("Quiz.questions", quiz.getQuestions().size());
+        }
+        assertEquals(1000, metrics.getLatencies("Quiz.generate").getCount());
+        assertEquals(1000L * QuizConfig.DEFAULT.getQuestionCount(), metrics.getCount("Quiz.questions"));
+        // Printed so CI logs keep a rough generation cost per build
+        System.out.println("MetricsTest " + metrics.toJson());
+    }
+}
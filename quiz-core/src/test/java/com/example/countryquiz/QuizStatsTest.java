@@ -0,0 +1,39 @@
+package com.example.countryquiz;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the day-streak computation behind the history statistics.
+ */
+public class QuizStatsTest {
+
+    @Test
+    public void streaks_countRunEndingToday() {
+        int[] streaks = QuizStats.streaks(new long[]{100, 99, 98, 95, 94}, 100);
+        assertEquals(3, streaks[0]);
+        assertEquals(3, streaks[1]);
+    }
+
+    @Test
+    public void streaks_keepRunEndingYesterday() {
+        int[] streaks = QuizStats.streaks(new long[]{99, 98, 90, 89, 88, 87}, 100);
+        assertEquals(2, streaks[0]);
+        assertEquals(4, streaks[1]);
+    }
+
+    @Test
+    public void streaks_resetAfterMissedDay() {
+        int[] streaks = QuizStats.streaks(new long[]{97, 96}, 100);
+        assertEquals(0, streaks[0]);
+        assertEquals(2, streaks[1]);
+    }
+
+    @Test
+    public void streaks_emptyHistory() {
+        int[] streaks = QuizStats.streaks(new long[0], 100);
+        assertEquals(0, streaks[0]);
+        assertEquals(0, streaks[1]);
+    }
+}
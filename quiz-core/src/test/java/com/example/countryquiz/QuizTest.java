@@ -0,0 +1,155 @@
+package com.example.countryquiz;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.SplittableRandom;
+import java.util.Set;
+
+import static com.example.countryquiz.TestCatalogs.catalog;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for quiz generation on top of the continent index.
+ */
+public class QuizTest {
+
+    private static final QuizGenerator GENERATOR = new UniformQuizGenerator();
+
+    @Test
+    public void sampling_picksDistinctValuesInRange() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int n : new int[]{6, 64, 65, 100_000}) {
+            int[] picked = Sampling.distinct(n, 6, random);
+            Set<Integer> seen = new HashSet<>();
+            for (int value : picked) {
+                assertTrue(value >= 0 && value < n);
+                assertTrue(seen.add(value));
+            }
+        }
+    }
+
+    @Test
+    public void continentIndex_groupsCountries() {
+        ContinentIndex index = catalog(12).getContinentIndex();
+        assertEquals(6, index.getContinentCount());
+        for (int c = 0; c < index.getContinentCount(); c++) {
+            assertEquals(2, index.getCountryCount(c));
+            assertEquals(c, index.getContinentId(index.getCountryOn(c, 1)));
+        }
+    }
+
+    @Test
+    public void quiz_hasDistinctCountriesAndValidOptions() {
+        CountryCatalog catalog = catalog(194);
+        Quiz quiz = GENERATOR.generate(catalog, QuizConfig.DEFAULT);
+
+        Set<String> names = new HashSet<>();
+        for (Question q : quiz.getQuestions()) {
+            assertTrue(names.add(q.getCountry().getName()));
+            assertEquals(3, new HashSet<>(q.getOptions()).size());
+            assertTrue(q.getOptions().contains(q.getCorrectAnswer()));
+            assertEquals(q.getCountry().getContinent(), q.getCorrectAnswer());
+        }
+        assertEquals(6, names.size());
+    }
+
+    @Test
+    public void quiz_followsConfig() {
+        Quiz quiz = GENERATOR.generate(catalog(194), new QuizConfig(500, 4));
+
+        assertEquals(500, quiz.getQuestions().size());
+        for (Question q : quiz.getQuestions()) {
+            assertEquals(4, new HashSet<>(q.getOptions()).size());
+            assertTrue(q.getOptions().contains(q.getCorrectAnswer()));
+        }
+    }
+
+    @Test
+    public void config_equalsByShape() {
+        assertEquals(QuizConfig.DEFAULT, new QuizConfig(6, 3));
+        assertEquals(QuizConfig.DEFAULT.hashCode(), new QuizConfig(6, 3).hashCode());
+        assertNotEquals(QuizConfig.DEFAULT, new QuizConfig(6, 4));
+    }
+
+    @Test
+    public void quiz_capsOptionsAtContinentCount() {
+        Quiz quiz = GENERATOR.generate(catalog(12), new QuizConfig(3, 10));
+        assertEquals(6, quiz.getQuestions().get(0).getOptions().size());
+    }
+
+    @Test
+    public void answer_keepsRunningScore() {
+        Quiz quiz = GENERATOR.generate(catalog(194), QuizConfig.DEFAULT);
+        Question first = quiz.getQuestions().get(0);
+        int wrong = (first.getCorrectIndex() + 1) % first.getOptions().size();
+
+        quiz.answer(0, first.getCorrectIndex());
+        assertEquals(1, quiz.getCurrentScore());
+        assertEquals(first.getCorrectAnswer(), first.getUserAnswer());
+
+        // Answering the same question again replaces the earlier pick
+        quiz.answer(0, first.getCorrectIndex());
+        assertEquals(1, quiz.getCurrentScore());
+        quiz.answer(0, wrong);
+        assertEquals(0, quiz.getCurrentScore());
+        assertFalse(first.isCorrect());
+
+        quiz.answer(1, quiz.getQuestions().get(1).getCorrectIndex());
+        quiz.answer(0, Question.NO_CHOICE);
+        assertEquals(1, quiz.getCurrentScore());
+        assertNull(first.getUserAnswer());
+    }
+
+    @Test
+    public void restore_rebuildsSameQuizFromArrays() {
+        CountryCatalog catalog = catalog(194);
+        Quiz quiz = GENERATOR.generate(catalog, QuizConfig.DEFAULT);
+        quiz.answer(0, quiz.getQuestions().get(0).getCorrectIndex());
+        quiz.answer(2, (quiz.getQuestions().get(2).getCorrectIndex() + 1) % 3);
+
+        int n = quiz.getQuestions().size();
+        int[] choices = new int[n];
+        for (int i = 0; i < n; i++) {
+            choices[i] = quiz.getQuestions().get(i).getUserChoice();
+        }
+
+        Quiz restored = new Quiz(catalog, QuizConfig.DEFAULT, quiz.getSeed(),
+                quiz.getCountryIndices(), quiz.getOptionIds(), choices);
+        assertEquals(quiz.getCurrentScore(), restored.getCurrentScore());
+        for (int i = 0; i < n; i++) {
+            Question a = quiz.getQuestions().get(i);
+            Question b = restored.getQuestions().get(i);
+            assertEquals(a.getCountry().getName(), b.getCountry().getName());
+            assertEquals(a.getOptions(), b.getOptions());
+            assertEquals(a.getCorrectIndex(), b.getCorrectIndex());
+            assertEquals(a.getUserChoice(), b.getUserChoice());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void restore_rejectsPositionsOutsideCatalog() {
+        new Quiz(catalog(10), QuizConfig.DEFAULT, 0, new int[]{3, 10}, new int[]{3, 0, 1, 4, 0, 1}, new int[]{-1, -1});
+    }
+
+    @Test
+    public void generate_sameSeedReplaysQuiz() {
+        CountryCatalog catalog = catalog(194);
+        Quiz first = GENERATOR.generate(catalog, QuizConfig.DEFAULT, 1234L);
+        Quiz replay = GENERATOR.generate(catalog, QuizConfig.DEFAULT, first.getSeed());
+        for (int i = 0; i < first.getQuestions().size(); i++) {
+            Question a = first.getQuestions().get(i);
+            Question b = replay.getQuestions().get(i);
+            assertEquals(a.getCountryIndex(), b.getCountryIndex());
+            assertEquals(a.getOptions(), b.getOptions());
+            assertEquals(a.getCorrectIndex(), b.getCorrectIndex());
+        }
+    }
+
+    @Test
+    public void generate_freshSeedsDiffer() {
+        CountryCatalog catalog = catalog(194);
+        assertNotEquals(GENERATOR.generate(catalog, QuizConfig.DEFAULT).getSeed(),
+                GENERATOR.generate(catalog, QuizConfig.DEFAULT).getSeed());
+    }
+}
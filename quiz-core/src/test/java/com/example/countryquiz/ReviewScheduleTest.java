@@ -0,0 +1,73 @@
+package com.example.countryquiz;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.countryquiz.TestCatalogs.catalog;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for SM-2 scheduling and review quiz generation.
+ */
+public class ReviewScheduleTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    public void review_passingGradesGrowInterval() {
+        ReviewSchedule schedule = ReviewSchedule.initial().review(5, NOW);
+        assertEquals(1, schedule.getIntervalDays());
+        schedule = schedule.review(5, NOW);
+        assertEquals(6, schedule.getIntervalDays());
+        schedule = schedule.review(4, NOW);
+        assertEquals(Math.round(6 * 2.7), schedule.getIntervalDays());
+        assertEquals(3, schedule.getRepetitions());
+        assertEquals(NOW + schedule.getIntervalDays() * ReviewSchedule.DAY_MILLIS, schedule.getDue());
+    }
+
+    @Test
+    public void review_failResetsIntervalAndLowersEase() {
+        ReviewSchedule schedule = new ReviewSchedule(2.5, 30, 5, 0).review(1, NOW);
+        assertEquals(1, schedule.getIntervalDays());
+        assertEquals(0, schedule.getRepetitions());
+        assertEquals(1.96, schedule.getEase(), 1e-9);
+
+        for (int i = 0; i < 10; i++) schedule = schedule.review(0, NOW);
+        assertEquals(ReviewSchedule.MIN_EASE, schedule.getEase(), 1e-9);
+    }
+
+    @Test
+    public void grade_followsCorrectnessAndSpeed() {
+        assertEquals(1, ReviewSchedule.grade(false, 500));
+        assertEquals(5, ReviewSchedule.grade(true, 500));
+        assertEquals(4, ReviewSchedule.grade(true, 5_000));
+        assertEquals(3, ReviewSchedule.grade(true, 20_000));
+    }
+
+    @Test
+    public void reviewQuiz_asksDueCountriesFirstThenTopsUp() {
+        CountryCatalog catalog = catalog(194);
+        ReviewQuizGenerator generator = new ReviewQuizGenerator(catalog, new int[]{17, 3, 99});
+        Quiz quiz = generator.generate(catalog, QuizConfig.DEFAULT, 7L);
+
+        List<Question> questions = quiz.getQuestions();
+        assertEquals(QuizConfig.DEFAULT.getQuestionCount(), questions.size());
+        assertEquals(17, questions.get(0).getCountryIndex());
+        assertEquals(3, questions.get(1).getCountryIndex());
+        assertEquals(99, questions.get(2).getCountryIndex());
+        Set<Integer> seen = new HashSet<>();
+        for (Question q : questions) assertTrue(seen.add(q.getCountryIndex()));
+    }
+
+    @Test
+    public void reviewQuiz_repeatsOnlyOnceCatalogIsExhausted() {
+        CountryCatalog catalog = catalog(6);
+        Quiz quiz = new ReviewQuizGenerator(catalog, new int[]{5}).generate(catalog, new QuizConfig(9, 3), 1L);
+        Set<Integer> firstRound = new HashSet<>();
+        for (int i = 0; i < 6; i++) assertTrue(firstRound.add(quiz.getQuestions().get(i).getCountryIndex()));
+        assertEquals(9, quiz.getQuestions().size());
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.countryquiz;
+
+/*
+ * Java utility library for building the synthetic country list.
+ */
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic catalogs shared by the quiz-core and quiz-sim tests.
+ */
+public final class TestCatalogs {
+
+    /** The continents the synthetic countries cycle through, in catalog order. */
+    public static final String[] CONTINENTS = {"Africa", "Asia", "Europe", "North America", "Oceania", "South America"};
+
+    private TestCatalogs() {
+    }
+
+    /**
+     * Builds a catalog of countries named "Country 0" onwards, spread over
+     * {@link #CONTINENTS} in turn.
+     *
+     * @param size the number of countries
+     * @return the catalog
+     */
+    public static CountryCatalog catalog(int size) {
+        List<Country> countries = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            countries.add(new Country("Country " + i, CONTINENTS[i % CONTINENTS.length]));
+        }
+        return new CountryCatalog(countries);
+    }
+}
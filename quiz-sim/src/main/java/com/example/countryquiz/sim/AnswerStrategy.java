@@ -0,0 +1,75 @@
+package com.example.countryquiz.sim;
+
+/*
+ * Quiz engine class for the question being answered.
+ * Java utility library for the worker's random draws.
+ */
+import com.example.countryquiz.Question;
+
+import java.util.SplittableRandom;
+
+/**
+ * How a simulated player answers a question.
+ */
+public interface AnswerStrategy {
+
+    /**
+     * Picks an option for the question.
+     *
+     * @param question the question being answered
+     * @param random   the session's random source
+     * @return the picked option index
+     */
+    int choose(Question question, SplittableRandom random);
+
+    /**
+     * Parses a strategy name as given on the command line: {@code random},
+     * {@code perfect} or {@code skilled:<probability of a correct answer>}.
+     *
+     * @param spec the strategy name
+     * @return the strategy
+     * @throws IllegalArgumentException if the name is not recognised
+     */
+    static AnswerStrategy parse(String spec) {
+        if (spec.equals("random")) return guessing();
+        if (spec.equals("perfect")) return perfect();
+        if (spec.startsWith("skilled:")) return skilled(Double.parseDouble(spec.substring("skilled:".length())));
+        throw new IllegalArgumentException("Unknown strategy: " + spec);
+    }
+
+    /**
+     * A player who guesses uniformly among the options.
+     *
+     * @return the strategy
+     */
+    static AnswerStrategy guessing() {
+        return (question, random) -> random.nextInt(question.getOptions().size());
+    }
+
+    /**
+     * A player who always knows the answer.
+     *
+     * @return the strategy
+     */
+    static AnswerStrategy perfect() {
+        return (question, random) -> question.getCorrectIndex();
+    }
+
+    /**
+     * A player who knows the answer with the given probability and otherwise picks one
+     * of the wrong options.
+     *
+     * @param accuracy the probability of a correct answer, between 0 and 1
+     * @return the strategy
+     */
+    static AnswerStrategy skilled(double accuracy) {
+        if (accuracy < 0 || accuracy > 1) {
+            throw new IllegalArgumentException("accuracy must be between 0 and 1: " + accuracy);
+        }
+        return (question, random) -> {
+            if (random.nextDouble() < accuracy) return question.getCorrectIndex();
+            int wrong = random.nextInt(question.getOptions().size() - 1);
+            return wrong >= question.getCorrectIndex() ? wrong + 1 : wrong;
+        };
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.countryquiz.sim;
+
+/*
+ * Quiz engine classes for loading the catalog and generating quizzes.
+ * Java I/O, management and utility libraries for reading the CSV and reporting GC activity.
+ */
+import com.example.countryquiz.Country;
+import com.example.countryquiz.CountryCatalog;
+import com.example.countryquiz.CountryCsvReader;
+import com.example.countryquiz.QuizConfig;
+import com.example.countryquiz.QuizGenerator;
+import com.example.countryquiz.UniformQuizGenerator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Command-line load harness for the quiz engine.
+ * <p>
+ * Simulates quiz sessions across all cores and prints throughput, per-session latency
+ * percentiles, allocation per session, GC activity and the score distribution. Options
+ * take the form {@code --name=value}:
+ * <ul>
+ *     <li>{@code --sessions} sessions to play (default 1,000,000)</li>
+ *     <li>{@code --threads} fork/join parallelism (default: available processors)</li>
+ *     <li>{@code --questions}, {@code --options} the quiz shape (default 6 and 3)</li>
+ *     <li>{@code --strategy} {@code random}, {@code perfect} or {@code skilled:0.7} (default)</li>
+ *     <li>{@code --csv} the country CSV (default: the app's asset)</li>
+ *     <li>{@code --catalog-size} use a synthetic catalog of this size instead of the CSV</li>
+ *     <li>{@code --seed} derive every session's seed from this one, making the run
+ *         repeatable; by default each worker draws fresh seeds on its own</li>
+ *     <li>{@code --shared-random=true} make every thread draw its seeds from one
+ *         {@link Random}, to measure the contention a shared source causes</li>
+ *     <li>{@code --warmup} sessions played and discarded first (default 100,000)</li>
+ * </ul>
+ */
+public final class QuizSimulator {
+    private static final String DEFAULT_CSV = "app/src/main/assets/country_continent.csv";
+    private static final String[] CONTINENTS = {"Africa", "Asia", "Europe", "North America", "Oceania", "South America"};
+
+    private QuizSimulator() {
+    }
+
+    /**
+     * Parses the options, runs a warm-up and then the measured simulation, and prints
+     * the report to standard output.
+     *
+     * @param args options of the form {@code --name=value}
+     * @throws IOException if the country CSV cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        long sessions = 1_000_000;
+        long warmup = 100_000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int questionCount = QuizConfig.DEFAULT.getQuestionCount();
+        int optionCount = QuizConfig.DEFAULT.getOptionCount();
+        String strategyName = "skilled:0.7";
+        String csv = DEFAULT_CSV;
+        int catalogSize = 0;
+        boolean sharedRandom = false;
+        Long seed = null;
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "sessions": sessions = Long.parseLong(value); break;
+                case "warmup": warmup = Long.parseLong(value); break;
+                case "threads": threads = Integer.parseInt(value); break;
+                case "questions": questionCount = Integer.parseInt(value); break;
+                case "options": optionCount = Integer.parseInt(value); break;
+                case "strategy": strategyName = value; break;
+                case "csv": csv = value; break;
+                case "catalog-size": catalogSize = Integer.parseInt(value); break;
+                case "shared-random": sharedRandom = Boolean.parseBoolean(value); break;
+                case "seed": seed = Long.parseLong(value); break;
+                default: throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+
+        CountryCatalog catalog = catalogSize > 0 ? syntheticCatalog(catalogSize) : readCatalog(csv);
+        QuizConfig config = new QuizConfig(questionCount, optionCount);
+        AnswerStrategy strategy = AnswerStrategy.parse(strategyName);
+        SeedSource seeds = seed != null ? SeedSource.fixed(seed)
+                : sharedRandom ? SeedSource.shared(new Random())
+                : SeedSource.threadLocal();
+        QuizGenerator generator = new UniformQuizGenerator();
+        Simulation simulation = new Simulation(catalog, config, generator, strategy, seeds);
+
+        System.out.printf(Locale.ROOT, "catalog        %,d countries, %d continents%n",
+                catalog.size(), catalog.getContinentIndex().getContinentCount());
+        System.out.printf(Locale.ROOT, "setup          %d questions x %d options, strategy %s, %d threads%s%n",
+                questionCount, optionCount, strategyName, threads,
+                seed != null ? ", seed " + seed : sharedRandom ? ", shared Random" : "");
+
+        if (warmup > 0) {
+            simulation.run(warmup, threads);
+        }
+
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long start = System.nanoTime();
+        SimulationResult result = simulation.run(sessions, threads);
+        long wallNanos = System.nanoTime() - start;
+
+        System.out.print(result.format(wallNanos, gcCount() - gcCountBefore, gcMillis() - gcMillisBefore));
+    }
+
+    private static CountryCatalog readCatalog(String path) throws IOException {
+        try (InputStream in = Files.newInputStream(Paths.get(path))) {
+            return new CountryCatalog(CountryCsvReader.readAll(in));
+        }
+    }
+
+    private static CountryCatalog syntheticCatalog(int size) {
+        List<Country> countries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            countries.add(new Country("Country " + i, CONTINENTS[i % CONTINENTS.length]));
+        }
+        return new CountryCatalog(countries);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+}
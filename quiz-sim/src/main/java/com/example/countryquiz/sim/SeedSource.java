@@ -0,0 +1,57 @@
+package com.example.countryquiz.sim;
+
+/*
+ * Java utility and concurrency libraries for the fixed and fresh seed sequences.
+ */
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses the seed of each simulated session.
+ */
+public interface SeedSource {
+
+    /**
+     * Returns the seed for a session.
+     *
+     * @param session the index of the session within the run
+     * @return the seed its quiz and answers are generated from
+     */
+    long seedFor(long session);
+
+    /**
+     * Fresh seeds from each worker's {@link ThreadLocalRandom}; nothing is shared.
+     *
+     * @return the seed source
+     */
+    static SeedSource threadLocal() {
+        return session -> ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Fresh seeds from one {@link Random} shared by every worker, to measure the
+     * contention on its atomic seed.
+     *
+     * @param random the shared random source
+     * @return the seed source
+     */
+    static SeedSource shared(Random random) {
+        return session -> random.nextLong();
+    }
+
+    /**
+     * Seeds derived from a base seed and the session index, so a run can be repeated
+     * exactly whatever the number of threads. Uses the SplitMix64 finalizer.
+     *
+     * @param base the seed of the whole run
+     * @return the seed source
+     */
+    static SeedSource fixed(long base) {
+        return session -> {
+            long z = base + session * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.countryquiz.sim;
+
+/*
+ * Quiz engine classes for generating and playing the simulated quizzes.
+ * Java management, concurrency and utility libraries for per-thread allocation counters
+ * and the fork/join pool.
+ */
+import com.example.countryquiz.CountryCatalog;
+import com.example.countryquiz.Question;
+import com.example.countryquiz.Quiz;
+import com.example.countryquiz.QuizConfig;
+import com.example.countryquiz.QuizGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays many quiz sessions in parallel on a fork/join pool.
+ * <p>
+ * Each session takes a seed from the {@link SeedSource}, generates the quiz for it,
+ * answers every question with the {@link AnswerStrategy} and records the score and how
+ * long it took. Sessions are split into chunks of {@link #CHUNK} per leaf task; every
+ * leaf fills its own {@link SimulationResult}, so workers share nothing but the
+ * catalog, the generator and the seed source.
+ */
+public final class Simulation {
+    /** Sessions run by one leaf task before its result is merged. */
+    static final int CHUNK = 10_000;
+
+    private final CountryCatalog catalog;
+    private final QuizConfig config;
+    private final QuizGenerator generator;
+    private final AnswerStrategy strategy;
+    private final SeedSource seeds;
+
+    /**
+     * Constructs a simulation.
+     *
+     * @param catalog      the catalog to generate quizzes from
+     * @param config       the shape of every quiz
+     * @param generator    the generation strategy, shared by all workers
+     * @param strategy     how the simulated players answer
+     * @param seeds        the seed of each session
+     */
+    public Simulation(CountryCatalog catalog, QuizConfig config, QuizGenerator generator,
+                      AnswerStrategy strategy, SeedSource seeds) {
+        this.catalog = catalog;
+        this.config = config;
+        this.generator = generator;
+        this.strategy = strategy;
+        this.seeds = seeds;
+    }
+
+    /**
+     * Runs the given number of sessions on a pool of the given size.
+     *
+     * @param sessions the number of sessions to play
+     * @param threads  the parallelism of the fork/join pool
+     * @return the merged counters of every session
+     */
+    public SimulationResult run(long sessions, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return pool.invoke(new Chunk(0, sessions));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays one session and records it. The answers draw from their own stream, so
+     * the session is reproducible from its seed alone.
+     */
+    private void playSession(SimulationResult result, long session) {
+        long start = System.nanoTime();
+        long seed = seeds.seedFor(session);
+        Quiz quiz = generator.generate(catalog, config, seed);
+        SplittableRandom random = new SplittableRandom(~seed);
+        List<Question> questions = quiz.getQuestions();
+        for (int i = 0; i < questions.size(); i++) {
+            quiz.answer(i, strategy.choose(questions.get(i), random));
+        }
+        result.recordSession(quiz.getCurrentScore(), questions.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Sessions {@code [from, to)}, split in half until they fit in one chunk.
+     */
+    private final class Chunk extends RecursiveTask<SimulationResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+
+        Chunk(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (to - from <= CHUNK) {
+                return runLeaf();
+            }
+            long middle = from + (to - from) / 2;
+            Chunk left = new Chunk(from, middle);
+            left.fork();
+            SimulationResult right = new Chunk(middle, to).compute();
+            return right.merge(left.join());
+        }
+
+        private SimulationResult runLeaf() {
+            SimulationResult result = new SimulationResult(config.getQuestionCount());
+            long allocatedBefore = allocatedBytes();
+            for (long i = from; i < to; i++) {
+                playSession(result, i);
+            }
+            long allocatedAfter = allocatedBytes();
+            if (allocatedBefore >= 0 && allocatedAfter >= 0) {
+                result.addAllocatedBytes(allocatedAfter - allocatedBefore);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the bytes allocated so far by the calling thread, where the JVM supports it.
+     *
+     * @return the allocated bytes, or -1 if unavailable
+     */
+    static long allocatedBytes() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+            if (hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled()) {
+                return hotspot.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.countryquiz.sim;
+
+/*
+ * Quiz engine histogram for session latencies.
+ * Java utility library for locale-independent report formatting.
+ */
+import com.example.countryquiz.LatencyHistogram;
+
+import java.util.Locale;
+
+/**
+ * Counters gathered by one simulation worker, merged into the final report.
+ * Not thread-safe: each worker fills its own instance.
+ */
+public final class SimulationResult {
+    private final long[] scoreCounts;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private long sessions;
+    private long questions;
+    private long correct;
+    private long allocatedBytes;
+
+    /**
+     * Constructs an empty result.
+     *
+     * @param questionCount the number of questions per session, which bounds the score
+     */
+    public SimulationResult(int questionCount) {
+        scoreCounts = new long[questionCount + 1];
+    }
+
+    /**
+     * Records one finished session.
+     *
+     * @param score         the session's final score
+     * @param questionCount the number of questions asked
+     * @param nanos         how long generating and playing the session took
+     */
+    void recordSession(int score, int questionCount, long nanos) {
+        sessions++;
+        questions += questionCount;
+        correct += score;
+        scoreCounts[score]++;
+        latencies.record(nanos);
+    }
+
+    /**
+     * Adds bytes allocated by a worker thread while it ran sessions.
+     *
+     * @param bytes the allocated bytes, or a negative value if unknown
+     */
+    void addAllocatedBytes(long bytes) {
+        if (bytes > 0) allocatedBytes += bytes;
+    }
+
+    /**
+     * Adds every counter of another result to this one.
+     *
+     * @param other the result to merge in
+     * @return this result
+     */
+    SimulationResult merge(SimulationResult other) {
+        for (int i = 0; i < scoreCounts.length; i++) {
+            scoreCounts[i] += other.scoreCounts[i];
+        }
+        latencies.add(other.latencies);
+        sessions += other.sessions;
+        questions += other.questions;
+        correct += other.correct;
+        allocatedBytes += other.allocatedBytes;
+        return this;
+    }
+
+    /**
+     * Returns the number of simulated sessions.
+     *
+     * @return the session count
+     */
+    public long getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Returns the number of correctly answered questions.
+     *
+     * @return the correct answer count
+     */
+    public long getCorrect() {
+        return correct;
+    }
+
+    /**
+     * Returns how many sessions ended with each score, indexed by score.
+     *
+     * @return a copy of the score counts
+     */
+    public long[] getScoreCounts() {
+        return scoreCounts.clone();
+    }
+
+    /**
+     * Returns the per-session latency histogram.
+     *
+     * @return the latencies
+     */
+    public LatencyHistogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * Returns the bytes allocated by the worker threads while running sessions.
+     *
+     * @return the allocated bytes, or 0 if the JVM cannot measure them
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Formats the counters as a human-readable report.
+     *
+     * @param wallNanos  the wall-clock time of the whole run
+     * @param gcCount    garbage collections during the run
+     * @param gcMillis   time spent in garbage collection during the run
+     * @return the report, one metric per line
+     */
+    public String format(long wallNanos, long gcCount, long gcMillis) {
+        StringBuilder out = new StringBuilder();
+        double seconds = wallNanos / 1e9;
+        out.append(String.format(Locale.ROOT, "sessions       %,d in %.2f s%n", sessions, seconds));
+        out.append(String.format(Locale.ROOT, "throughput     %,.0f sessions/s, %,.0f questions/s%n",
+                sessions / seconds, questions / seconds));
+        out.append(String.format(Locale.ROOT, "latency (us)   p50=%.1f p90=%.1f p99=%.1f p99.9=%.1f max=%.1f%n",
+                latencies.getPercentile(50) / 1e3, latencies.getPercentile(90) / 1e3,
+                latencies.getPercentile(99) / 1e3, latencies.getPercentile(99.9) / 1e3,
+                latencies.getMax() / 1e3));
+        out.append(String.format(Locale.ROOT, "allocation     %,d bytes/session%n",
+                sessions == 0 ? 0 : allocatedBytes / sessions));
+        out.append(String.format(Locale.ROOT, "gc             %d collections, %d ms (%.1f%% of wall time)%n",
+                gcCount, gcMillis, wallNanos == 0 ? 0 : 100.0 * gcMillis * 1e6 / wallNanos));
+        out.append(String.format(Locale.ROOT, "accuracy       %.1f%%%n",
+                questions == 0 ? 0 : 100.0 * correct / questions));
+        out.append("scores\n");
+        for (int score = 0; score < scoreCounts.length; score++) {
+            double share = sessions == 0 ? 0 : 100.0 * scoreCounts[score] / sessions;
+            out.append(String.format(Locale.ROOT, "  %3d  %6.2f%%  %s%n", score, share, bar(share)));
+        }
+        return out.toString();
+    }
+
+    private static String bar(double percent) {
+        StringBuilder bar = new StringBuilder();
+        for (int i = 0; i < Math.round(percent / 2); i++) {
+            bar.append('#');
+        }
+        return bar.toString();
+    }
+}
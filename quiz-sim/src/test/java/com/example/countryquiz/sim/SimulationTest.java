@@ -0,0 +1,49 @@
+package com.example.countryquiz.sim;
+
+import com.example.countryquiz.CountryCatalog;
+import com.example.countryquiz.QuizConfig;
+import com.example.countryquiz.UniformQuizGenerator;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.example.countryquiz.TestCatalogs.catalog;
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for the simulation harness.
+ */
+public class SimulationTest {
+
+    @Test
+    public void simulation_perfectPlayersAlwaysScoreFull() {
+        QuizConfig config = QuizConfig.DEFAULT;
+        Simulation simulation = new Simulation(catalog(194), config, new UniformQuizGenerator(),
+                AnswerStrategy.perfect(), SeedSource.threadLocal());
+        SimulationResult result = simulation.run(25_000, 4);
+
+        assertEquals(25_000, result.getSessions());
+        assertEquals(25_000L * config.getQuestionCount(), result.getCorrect());
+        assertEquals(25_000, result.getScoreCounts()[config.getQuestionCount()]);
+        assertEquals(25_000, result.getLatencies().getCount());
+    }
+
+    @Test
+    public void skilledStrategy_neverPicksCorrectAtZeroAccuracy() {
+        Simulation simulation = new Simulation(catalog(194), QuizConfig.DEFAULT,
+                new UniformQuizGenerator(), AnswerStrategy.skilled(0), SeedSource.shared(new Random(2)));
+        SimulationResult result = simulation.run(1_000, 1);
+        assertEquals(0, result.getCorrect());
+    }
+
+    @Test
+    public void fixedSeed_repeatsRunWhateverTheThreads() {
+        CountryCatalog catalog = catalog(194);
+        SimulationResult one = new Simulation(catalog, QuizConfig.DEFAULT, new UniformQuizGenerator(),
+                AnswerStrategy.skilled(0.5), SeedSource.fixed(99)).run(30_000, 1);
+        SimulationResult four = new Simulation(catalog, QuizConfig.DEFAULT, new UniformQuizGenerator(),
+                AnswerStrategy.skilled(0.5), SeedSource.fixed(99)).run(30_000, 4);
+        assertArrayEquals(one.getScoreCounts(), four.getScoreCounts());
+    }
+}